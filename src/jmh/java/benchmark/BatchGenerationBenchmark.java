@@ -0,0 +1,56 @@
+package benchmark;
+
+import generation.BatchResult;
+import generation.GenerationSpec;
+import generation.IGenerator;
+import generation.PrimitiveGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The same specs generated one call at a time and as one batch; scores are per batch of batchSize passwords.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BatchGenerationBenchmark {
+
+	private static final char[] SPECIAL_CHARS = {'$', '#', '@', '!'};
+
+	@Param({"1000", "100000"})
+	private int batchSize;
+
+	private IGenerator generator;
+	private List<GenerationSpec> specs;
+
+	@Setup
+	public void setUp() {
+		generator = new PrimitiveGenerator();
+		List<String> words = Corpora.uniqueWords(1000);
+		specs = new ArrayList<>(batchSize);
+		for (int i = 0; i < batchSize; i++) {
+			int length = 8 + i % 13;
+			int from = i % (words.size() - length);
+			specs.add(new GenerationSpec(length, SPECIAL_CHARS, words.subList(from, from + length)));
+		}
+	}
+
+	@Benchmark
+	public void singleCalls(Blackhole blackhole) throws Exception {
+		for (GenerationSpec spec : specs) {
+			blackhole.consume(generator.generate(spec.getLength(), spec.getSpecialChars(), spec.getUniqueWords()));
+		}
+	}
+
+	@Benchmark
+	public BatchResult batch() throws Exception {
+		return generator.generateBatch(specs);
+	}
+}
@@ -0,0 +1,22 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+ * Entry point of the benchmarks jar. Accepts the usual JMH command line and always adds the GC profiler,
+ * so allocation rates are reported next to the timings.
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws Exception {
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,45 @@
+package benchmark;
+
+import generation.CachingGenerator;
+import generation.Generator;
+import generation.IGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// A repeated request, the same words, length and special chars, answered by the generator and from the cache.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CachingGeneratorBenchmark {
+
+	private static final char[] SPECIAL_CHARS = {'$', '#', '@', '!'};
+
+	@Param({"8", "20"})
+	private int length;
+
+	private List<String> uniqueWords;
+	private IGenerator generator;
+	private IGenerator cached;
+
+	@Setup
+	public void setUp() {
+		uniqueWords = Corpora.uniqueWords(length);
+		generator = new Generator();
+		cached = new CachingGenerator.Builder().withGenerator(new Generator()).build();
+	}
+
+	@Benchmark
+	public char[] uncached() throws Exception {
+		return generator.generate(length, SPECIAL_CHARS, uniqueWords);
+	}
+
+	@Benchmark
+	public char[] cached() throws Exception {
+		return cached.generate(length, SPECIAL_CHARS, uniqueWords);
+	}
+}
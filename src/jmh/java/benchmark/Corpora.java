@@ -0,0 +1,55 @@
+package benchmark;
+
+import corpus.WordExtractor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/*
+ * Deterministic synthetic corpora, so every run measures the same input.
+ */
+public class Corpora {
+
+	private static final long SEED = 42L;
+	private static final int MIN_WORD_CHARS = 2;
+	private static final int MAX_WORD_CHARS = 12;
+
+	private Corpora() {
+	}
+
+	public static String text(int sizeInBytes) {
+		Random random = new Random(SEED);
+		StringBuilder text = new StringBuilder(sizeInBytes + MAX_WORD_CHARS);
+		while (text.length() < sizeInBytes) {
+			appendWord(text, random);
+			text.append(' ');
+		}
+		text.setLength(sizeInBytes);
+		return text.toString();
+	}
+
+	public static List<String> uniqueWords(int count) {
+		Random random = new Random(SEED);
+		Set<String> words = new LinkedHashSet<>();
+		StringBuilder word = new StringBuilder(MAX_WORD_CHARS);
+		while (words.size() < count) {
+			word.setLength(0);
+			appendWord(word, random);
+			if (word.length() >= WordExtractor.MIN_WORD_LENGTH) {
+				words.add(word.toString());
+			}
+		}
+		return new ArrayList<>(words);
+	}
+
+	private static void appendWord(StringBuilder builder, Random random) {
+		int length = MIN_WORD_CHARS + random.nextInt(MAX_WORD_CHARS - MIN_WORD_CHARS + 1);
+		for (int i = 0; i < length; i++) {
+			char c = (char) ('a' + random.nextInt(26));
+			builder.append(i == 0 && random.nextInt(8) == 0 ? Character.toUpperCase(c) : c);
+		}
+	}
+}
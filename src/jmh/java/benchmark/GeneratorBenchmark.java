@@ -0,0 +1,51 @@
+package benchmark;
+
+import generation.Generator;
+import generation.IGenerator;
+import generation.PrimitiveGenerator;
+import model.PasswordPolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GeneratorBenchmark {
+
+	private static final char[] ALL_SPECIAL_CHARS = {'$', '#', '@', '!', '%', '-', '_', '&', '*', '+', '=', '?', '~',
+			'^', '<', '>'};
+
+	@Param({"Generator", "PrimitiveGenerator"})
+	private String implementation;
+
+	@Param({"8", "10", "12", "14", "16", "18", "20"})
+	private int length;
+
+	// The fewest special chars the form accepts, 3, or the most for the length, length - 4, which is at least 4, so
+	// every row is a distinct configuration.
+	@Param({"min", "max"})
+	private String specialCharsNo;
+
+	private IGenerator generator;
+	private char[] specialChars;
+	private List<String> uniqueWords;
+
+	@Setup
+	public void setUp() {
+		generator = "PrimitiveGenerator".equals(implementation) ? new PrimitiveGenerator() : new Generator();
+		specialChars = Arrays.copyOf(ALL_SPECIAL_CHARS, "max".equals(specialCharsNo)
+				? length - 4 : PasswordPolicy.MIN_SPECIAL_CHARS_SIZE);
+		uniqueWords = Corpora.uniqueWords(length);
+	}
+
+	@Benchmark
+	public char[] generate() throws Exception {
+		return generator.generate(length, specialChars, uniqueWords);
+	}
+}
@@ -0,0 +1,334 @@
+package benchmark;
+
+import corpus.WordExtractor;
+import corpus.WordSource;
+import corpus.WordTable;
+import generation.CachingGenerator;
+import generation.Generator;
+import generation.IGenerator;
+import generation.ParallelGenerator;
+import generation.PrimitiveGenerator;
+import metrics.HistogramSnapshot;
+import metrics.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/*
+ * Sustained concurrent load on an IGenerator, for sizing hosts and catching tail-latency regressions that a
+ * microbenchmark averages away. Every thread count runs for the duration after a discarded warmup, cycling through
+ * windows of length consecutive unique words of the corpora.
+ *
+ * Closed loop: each thread calls generate again as soon as the previous call returns, so throughput is the capacity.
+ * Open loop (--rate): calls are scheduled at a fixed total rate, spread over the threads, and latency is measured
+ * from the scheduled start, not the actual one. A stall therefore counts against every call it delays, instead of
+ * hiding them by delaying their start: there is no coordinated omission. Service time, from the actual start, is
+ * reported next to it. Latencies go to one histogram per thread, with under 1% error, added up at the end.
+ *
+ * Usage: java -cp <benchmarks jar> benchmark.LoadTest [--generator <name>] [--threads <n,n,...>]
+ *        [--rate <calls per second>] [--duration <seconds>] [--warmup <seconds>] [--length <n>] [corpus]...
+ * The generator is Generator (default), PrimitiveGenerator, ParallelGenerator or CachingGenerator. Threads default
+ * to the powers of two up to the processors. Corpora are files or directories, 1 MB of synthetic text by default.
+ */
+public class LoadTest {
+
+	private static final String USAGE = "Usage: benchmark.LoadTest [--generator <name>] [--threads <n,n,...>] "
+			+ "[--rate <calls per second>] [--duration <seconds>] [--warmup <seconds>] [--length <n>] [corpus]...";
+	private static final String OPTION_PREFIX = "--";
+	private static final char[] SPECIAL_CHARS = {'$', '#', '@', '!'};
+	private static final int SYNTHETIC_CORPUS_BYTES = 1 << 20;
+	private static final int MAX_WINDOWS = 1 << 16;
+	private static final int HISTOGRAM_SUB_BUCKET_BITS = 7;
+	// Below this a thread spins instead of parking, since parking overshoots by tens of microseconds.
+	private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+	private static final double NANOS_PER_MICRO = 1000.0;
+	private static final int EXIT_FAILURE = 1;
+	private static final int EXIT_USAGE = 2;
+
+	public static void main(String[] args) {
+		System.exit(run(args, System.out, System.err));
+	}
+
+	static int run(String[] args, PrintStream out, PrintStream err) {
+		String generatorName = "Generator";
+		int[] threadCounts = defaultThreadCounts(Runtime.getRuntime().availableProcessors());
+		double rate = 0;
+		int durationSeconds = 10;
+		int warmupSeconds = 3;
+		int length = 12;
+		List<String> corpora = new ArrayList<>();
+		try {
+			for (int i = 0; i < args.length; i++) {
+				if (!args[i].startsWith(OPTION_PREFIX)) {
+					corpora.add(args[i]);
+					continue;
+				}
+				if (i + 1 == args.length) {
+					throw new IllegalArgumentException("Missing value of " + args[i]);
+				}
+				String value = args[++i];
+				switch (args[i - 1]) {
+					case "--generator":
+						generatorName = value;
+						break;
+					case "--threads":
+						threadCounts = parseThreadCounts(value);
+						break;
+					case "--rate":
+						rate = positive(Double.parseDouble(value), "Rate");
+						break;
+					case "--duration":
+						durationSeconds = (int) positive(Integer.parseInt(value), "Duration");
+						break;
+					case "--warmup":
+						warmupSeconds = Integer.parseInt(value);
+						break;
+					case "--length":
+						length = (int) positive(Integer.parseInt(value), "Length");
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown option " + args[i - 1]);
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			err.println(e.getMessage());
+			err.println(USAGE);
+			return EXIT_USAGE;
+		}
+
+		try {
+			Supplier<IGenerator> generators = generators(generatorName);
+			List<List<String>> windows = windows(corpora, length);
+			out.printf("%s, %s, length %d, %d windows, %d s after %d s warmup%n", generatorName,
+					rate > 0 ? String.format("open loop at %.0f calls/s", rate) : "closed loop", length,
+					windows.size(), durationSeconds, warmupSeconds);
+			out.printf("%-8s %7s %10s %12s %10s %10s %10s %10s%n", "latency", "threads", "calls", "calls/s",
+					"p50 us", "p99 us", "p99.9 us", "max us");
+			for (int threads : threadCounts) {
+				if (warmupSeconds > 0) {
+					new Run(generators, windows, length, threads, rate, warmupSeconds).execute();
+				}
+				Run run = new Run(generators, windows, length, threads, rate, durationSeconds);
+				run.execute();
+				print(out, rate > 0 ? "response" : "service", threads, run.response, run.elapsedNanos);
+				if (rate > 0) {
+					print(out, "service", threads, run.service, run.elapsedNanos);
+				}
+			}
+			return 0;
+		} catch (IllegalArgumentException e) {
+			err.println(e.getMessage());
+			err.println(USAGE);
+			return EXIT_USAGE;
+		} catch (Exception e) {
+			e.printStackTrace(err);
+			return EXIT_FAILURE;
+		}
+	}
+
+	// One supplier call per thread: thread-confined generators get their own, shareable ones are shared.
+	private static Supplier<IGenerator> generators(String name) {
+		switch (name) {
+			case "Generator": {
+				IGenerator shared = new Generator();
+				return () -> shared;
+			}
+			case "PrimitiveGenerator":
+				return PrimitiveGenerator::new;
+			case "ParallelGenerator": {
+				IGenerator shared = new ParallelGenerator();
+				return () -> shared;
+			}
+			case "CachingGenerator": {
+				IGenerator shared = new CachingGenerator.Builder().withGenerator(new Generator()).build();
+				return () -> shared;
+			}
+			default:
+				throw new IllegalArgumentException("Unknown generator " + name);
+		}
+	}
+
+	// Every window of length consecutive unique words, up to MAX_WINDOWS, across all corpora deduplicated together.
+	private static List<List<String>> windows(List<String> corpora, int length) throws Exception {
+		WordTable words = new WordTable();
+		if (corpora.isEmpty()) {
+			words = WordExtractor.wordTable(Corpora.text(SYNTHETIC_CORPUS_BYTES), WordExtractor.NO_LIMIT);
+		}
+		for (String corpus : corpora) {
+			WordSource.of(Paths.get(corpus)).forEachWord(words);
+		}
+		List<String> uniqueWords = words.toList();
+		if (uniqueWords.size() < length) {
+			throw new IllegalArgumentException("Corpora have " + uniqueWords.size() + " unique words, length is "
+					+ length);
+		}
+		int windowsNo = Math.min(MAX_WINDOWS, uniqueWords.size() - length + 1);
+		List<List<String>> windows = new ArrayList<>(windowsNo);
+		for (int i = 0; i < windowsNo; i++) {
+			windows.add(uniqueWords.subList(i, i + length));
+		}
+		return windows;
+	}
+
+	private static void print(PrintStream out, String latency, int threads, HistogramSnapshot histogram,
+							  long elapsedNanos) {
+		out.printf("%-8s %7d %10d %12.0f %10.1f %10.1f %10.1f %10.1f%n", latency, threads, histogram.getCount(),
+				histogram.getCount() * 1e9 / elapsedNanos,
+				histogram.getValueAtPercentile(50) / NANOS_PER_MICRO,
+				histogram.getValueAtPercentile(99) / NANOS_PER_MICRO,
+				histogram.getValueAtPercentile(99.9) / NANOS_PER_MICRO,
+				histogram.getMax() / NANOS_PER_MICRO);
+	}
+
+	private static int[] defaultThreadCounts(int processors) {
+		List<Integer> counts = new ArrayList<>();
+		for (int threads = 1; threads < processors; threads *= 2) {
+			counts.add(threads);
+		}
+		counts.add(processors);
+		return counts.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static int[] parseThreadCounts(String text) {
+		String[] tokens = text.split(",");
+		int[] counts = new int[tokens.length];
+		for (int i = 0; i < tokens.length; i++) {
+			counts[i] = (int) positive(Integer.parseInt(tokens[i].trim()), "Threads");
+		}
+		return counts;
+	}
+
+	private static double positive(double value, String name) {
+		if (value <= 0) {
+			throw new IllegalArgumentException(name + " must be positive: " + value);
+		}
+		return value;
+	}
+
+	/*
+	 * One measured run at a fixed thread count. All threads start together and stop at the same deadline; in open
+	 * loop each one owns every threads-th slot of the schedule.
+	 */
+	private static final class Run {
+		private final Supplier<IGenerator> generators;
+		private final List<List<String>> windows;
+		private final int length;
+		private final int threads;
+		private final long intervalNanos;
+		private final long durationNanos;
+		private final LatencyHistogram[] responses;
+		private final LatencyHistogram[] services;
+		private volatile Exception failure;
+		HistogramSnapshot response;
+		HistogramSnapshot service;
+		long elapsedNanos;
+
+		Run(Supplier<IGenerator> generators, List<List<String>> windows, int length, int threads, double rate,
+			int durationSeconds) {
+			this.generators = generators;
+			this.windows = windows;
+			this.length = length;
+			this.threads = threads;
+			this.intervalNanos = rate > 0 ? (long) (threads * 1e9 / rate) : 0;
+			this.durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+			this.responses = new LatencyHistogram[threads];
+			this.services = new LatencyHistogram[threads];
+		}
+
+		void execute() throws Exception {
+			CountDownLatch ready = new CountDownLatch(threads);
+			CountDownLatch go = new CountDownLatch(1);
+			long[] start = new long[1];
+			List<Thread> workers = new ArrayList<>(threads);
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				responses[t] = new LatencyHistogram(HISTOGRAM_SUB_BUCKET_BITS);
+				services[t] = new LatencyHistogram(HISTOGRAM_SUB_BUCKET_BITS);
+				IGenerator generator = generators.get();
+				Thread worker = new Thread(() -> {
+					ready.countDown();
+					try {
+						go.await();
+						work(generator, thread, start[0]);
+					} catch (Exception e) {
+						failure = e;
+					}
+				}, "load-" + t);
+				worker.setDaemon(true);
+				workers.add(worker);
+				worker.start();
+			}
+			ready.await();
+			start[0] = System.nanoTime();
+			go.countDown();
+			for (Thread worker : workers) {
+				worker.join();
+			}
+			elapsedNanos = System.nanoTime() - start[0];
+			if (failure != null) {
+				throw failure;
+			}
+			response = responses[0].snapshot();
+			service = services[0].snapshot();
+			for (int t = 1; t < threads; t++) {
+				response = response.plus(responses[t].snapshot());
+				service = service.plus(services[t].snapshot());
+			}
+		}
+
+		private void work(IGenerator generator, int thread, long start) throws Exception {
+			long deadline = start + durationNanos;
+			LatencyHistogram responseTimes = responses[thread];
+			LatencyHistogram serviceTimes = services[thread];
+			// Threads start at staggered offsets, so together they keep the total rate evenly spaced.
+			long scheduled = start + intervalNanos * thread / threads;
+			int window = thread % windows.size();
+			while (true) {
+				long now;
+				if (intervalNanos > 0) {
+					// Every slot scheduled before the deadline is issued and recorded, however late it starts, so a
+					// backlog at the end still counts against response times.
+					if (scheduled >= deadline) {
+						return;
+					}
+					now = awaitSlot(scheduled);
+				} else {
+					now = System.nanoTime();
+					if (now >= deadline) {
+						return;
+					}
+				}
+				generator.generate(length, SPECIAL_CHARS, windows.get(window));
+				long end = System.nanoTime();
+				serviceTimes.record(end - now);
+				if (intervalNanos > 0) {
+					responseTimes.record(end - scheduled);
+					scheduled += intervalNanos;
+				} else {
+					responseTimes.record(end - now);
+				}
+				window = (window + threads) % windows.size();
+			}
+		}
+
+		// Waits for the scheduled start and returns the current time, at once if the schedule is behind.
+		private static long awaitSlot(long scheduled) {
+			long now = System.nanoTime();
+			while (now < scheduled) {
+				if (scheduled - now > SPIN_NANOS) {
+					LockSupport.parkNanos(scheduled - now - SPIN_NANOS);
+				} else {
+					Thread.yield();
+				}
+				now = System.nanoTime();
+			}
+			return now;
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package benchmark;
+
+import generation.Generator;
+import generation.IGenerator;
+import generation.PrimitiveGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Long output mode. Dividing the score by the length should give the same cost per char at every length.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class LongPasswordBenchmark {
+
+	private static final char[] SPECIAL_CHARS = {'$', '#', '@', '!', '%', '-', '_', '&', '*', '+', '=', '?', '~',
+			'^', '<', '>'};
+
+	@Param({"Generator", "PrimitiveGenerator"})
+	private String implementation;
+
+	@Param({"1024", "4096", "16384", "65536"})
+	private int length;
+
+	private IGenerator generator;
+	private char[] specialChars;
+	private List<String> uniqueWords;
+
+	@Setup
+	public void setUp() {
+		generator = "PrimitiveGenerator".equals(implementation) ? new PrimitiveGenerator() : new Generator();
+		specialChars = Arrays.copyOf(SPECIAL_CHARS, SPECIAL_CHARS.length);
+		uniqueWords = Corpora.uniqueWords(length);
+	}
+
+	@Benchmark
+	public char[] generateLong() throws Exception {
+		return generator.generateLong(length, specialChars, uniqueWords);
+	}
+}
@@ -0,0 +1,56 @@
+package benchmark;
+
+import generation.BatchResult;
+import generation.ParallelGenerator;
+import generation.WordDigest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Scaling of bulk window generation with the pool size; compare each score with parallelism = 1.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ParallelGenerationBenchmark {
+
+	private static final char[] SPECIAL_CHARS = {'$', '#', '@', '!', '%'};
+	private static final int WORDS_NO = 200_000;
+
+	@Param({"1", "2", "4", "8", "16", "32"})
+	private int parallelism;
+
+	@Param({"12", "20"})
+	private int windowSize;
+
+	private ForkJoinPool pool;
+	private ParallelGenerator generator;
+	private int[] charSums;
+
+	@Setup
+	public void setUp() {
+		pool = new ForkJoinPool(parallelism);
+		generator = new ParallelGenerator(pool);
+		List<String> words = Corpora.uniqueWords(WORDS_NO);
+		charSums = new int[WORDS_NO];
+		for (int i = 0; i < WORDS_NO; i++) {
+			charSums[i] = WordDigest.of(words.get(i)).getCharSum();
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public BatchResult windows() throws Exception {
+		return generator.generateWindows(charSums, WORDS_NO, windowSize, SPECIAL_CHARS);
+	}
+}
@@ -0,0 +1,63 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import output.PasswordWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * One million 16 char passwords written to a temporary file, through a BufferedWriter fed one String per password
+ * and through PasswordWriter fed the char[] directly; scores are per million passwords.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordWriterBenchmark {
+
+	private static final int PASSWORDS_NO = 1_000_000;
+	private static final int PASSWORD_LENGTH = 16;
+
+	private char[] passwords;
+	private Path file;
+
+	@Setup
+	public void setUp() throws IOException {
+		passwords = new char[PASSWORDS_NO * PASSWORD_LENGTH];
+		for (int i = 0; i < passwords.length; i++) {
+			passwords[i] = (char) ('!' + i % 90);
+		}
+		file = Files.createTempFile("passwords", ".txt");
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public void bufferedWriterWithStrings() throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < PASSWORDS_NO; i++) {
+				writer.write(new String(passwords, i * PASSWORD_LENGTH, PASSWORD_LENGTH));
+				writer.newLine();
+			}
+		}
+	}
+
+	@Benchmark
+	public void passwordWriter() throws IOException {
+		try (PasswordWriter writer = new PasswordWriter.Builder().withFile(file).build()) {
+			for (int i = 0; i < PASSWORDS_NO; i++) {
+				writer.write(passwords, i * PASSWORD_LENGTH, PASSWORD_LENGTH);
+			}
+		}
+	}
+}
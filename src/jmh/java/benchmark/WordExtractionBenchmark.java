@@ -0,0 +1,44 @@
+package benchmark;
+
+import corpus.WordExtractor;
+import corpus.WordTable;
+import model.PasswordPolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class WordExtractionBenchmark {
+
+	// 1 KB, 1 MB, 10 MB and 100 MB of space separated text.
+	@Param({"1024", "1048576", "10485760", "104857600"})
+	private int corpusSize;
+
+	private String text;
+
+	@Setup
+	public void setUp() {
+		text = Corpora.text(corpusSize);
+	}
+
+	@Benchmark
+	public List<String> uniqueWords() {
+		return WordExtractor.uniqueWords(text);
+	}
+
+	@Benchmark
+	public List<String> uniqueWordsForMaxPasswordLength() {
+		return WordExtractor.uniqueWords(text, PasswordPolicy.MAX_PASSWORD_LENGTH);
+	}
+
+	@Benchmark
+	public WordTable wordTable() {
+		return WordExtractor.wordTable(text, WordExtractor.NO_LIMIT);
+	}
+}
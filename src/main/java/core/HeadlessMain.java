@@ -0,0 +1,208 @@
+package core;
+
+import corpus.WordExtractor;
+import corpus.WordSource;
+import corpus.WordTable;
+import exceptions.InvalidPasswordLengthException;
+import exceptions.InvalidSpecialCharsSizeException;
+import exceptions.NotAdequateValidWordsException;
+import generation.PasswordHandler;
+import generation.PrimitiveGenerator;
+import generation.SlidingWindowGenerator;
+import index.CorpusIndex;
+import model.PasswordPolicy;
+import output.PasswordWriter;
+import uniqueness.UniquenessFilter;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/*
+ * Command line entry point for scripts and servers without a display. It must never touch a JavaFX class,
+ * so it only depends on the generation, corpus, index, output, uniqueness and policy code.
+ *
+ * Usage: java -cp <jar> core.HeadlessMain [--long] [--windows] [--unique] [--output <file>] <length>
+ *        <special chars, comma-separated> [corpus file or directory | -]
+ * --long lifts the length cap from MAX_PASSWORD_LENGTH to MAX_LONG_PASSWORD_LENGTH.
+ * --windows prints one password per window of <length> consecutive unique words instead of only the first.
+ * --unique drops passwords already produced by the run, reporting how many on stderr.
+ * --output writes the passwords to a file, one per line, through a buffered FileChannel instead of stdout. They go
+ * to a temporary file next to it, moved over the file only once the run succeeds, so a failed run leaves it intact.
+ * A directory is read as all files under it, in sorted path order. The corpus file may also be an index written by
+ * index.BuildIndex, which skips reading and tokenizing the text.
+ */
+public class HeadlessMain {
+
+	private static final String USAGE =
+			"Usage: core.HeadlessMain [--long] [--windows] [--unique] [--output <file>] <length> "
+					+ "<special chars, comma-separated> [corpus file or directory | -]";
+	private static final String OPTION_PREFIX = "--";
+	private static final String LONG_OPTION = "--long";
+	private static final String WINDOWS_OPTION = "--windows";
+	private static final String UNIQUE_OPTION = "--unique";
+	private static final String OUTPUT_OPTION = "--output";
+	private static final String STDIN = "-";
+	private static final int EXPECTED_PASSWORDS_NO = 1 << 16;
+	private static final int EXIT_INVALID_INPUT = 1;
+	private static final int EXIT_USAGE = 2;
+
+	public static void main(String[] args) {
+		System.exit(run(args, System.in, System.out, System.err));
+	}
+
+	static int run(String[] args, InputStream in, PrintStream out, PrintStream err) {
+		boolean longOutput = false;
+		boolean windows = false;
+		boolean unique = false;
+		Path output = null;
+		int optionsNo = 0;
+		while (optionsNo < args.length && args[optionsNo].startsWith(OPTION_PREFIX)) {
+			if (LONG_OPTION.equals(args[optionsNo])) {
+				longOutput = true;
+			} else if (WINDOWS_OPTION.equals(args[optionsNo])) {
+				windows = true;
+			} else if (UNIQUE_OPTION.equals(args[optionsNo])) {
+				unique = true;
+			} else if (OUTPUT_OPTION.equals(args[optionsNo]) && optionsNo + 1 < args.length) {
+				output = Paths.get(args[++optionsNo]);
+			} else {
+				err.println(USAGE);
+				return EXIT_USAGE;
+			}
+			optionsNo++;
+		}
+		args = Arrays.copyOfRange(args, optionsNo, args.length);
+		if (args.length < 2 || args.length > 3) {
+			err.println(USAGE);
+			return EXIT_USAGE;
+		}
+		try {
+			int length = PasswordPolicy.parseLength(args[0]);
+			char[] specialChars = PasswordPolicy.parseSpecialChars(args[1]);
+			if (longOutput) {
+				PasswordPolicy.validateLongPasswordLength(length);
+			} else {
+				PasswordPolicy.validatePasswordLength(length);
+			}
+			PasswordPolicy.validateSpecialChars(specialChars.length, length);
+			Path corpus = args.length == 3 && !STDIN.equals(args[2]) ? Paths.get(args[2]) : null;
+			Path partial = output != null ? Files.createTempFile(directoryOf(output), ".passwords", ".tmp") : null;
+			try {
+				writePasswords(length, specialChars, longOutput, windows, unique, corpus, in, out, err, partial);
+				if (partial != null) {
+					Files.move(partial, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}
+			} finally {
+				if (partial != null) {
+					Files.deleteIfExists(partial);
+				}
+			}
+			return 0;
+		} catch (IllegalArgumentException e) {
+			err.println(e.getMessage());
+			err.println(USAGE);
+			return EXIT_USAGE;
+		} catch (InvalidPasswordLengthException | InvalidSpecialCharsSizeException |
+				NotAdequateValidWordsException e) {
+			err.println(e.getMessage());
+			return EXIT_INVALID_INPUT;
+		} catch (Exception e) {
+			e.printStackTrace(err);
+			return EXIT_INVALID_INPUT;
+		}
+	}
+
+	// Writes to the file when one is given, else prints to out.
+	private static void writePasswords(int length, char[] specialChars, boolean longOutput, boolean windows,
+									   boolean unique, Path corpus, InputStream in, PrintStream out, PrintStream err,
+									   Path file) throws Exception {
+		try (PasswordWriter writer = file != null ? new PasswordWriter.Builder().withFile(file).build() : null) {
+			PasswordHandler sink = writer != null ? writer : printer(out);
+			UniquenessFilter filter = unique ? UniquenessFilter.exact(EXPECTED_PASSWORDS_NO, sink) : null;
+			if (filter != null) {
+				sink = filter;
+			}
+			if (corpus != null && CorpusIndex.isIndex(corpus)) {
+				CorpusIndex index = CorpusIndex.open(corpus);
+				if (windows) {
+					generateWindows(length, specialChars, index, sink);
+				} else {
+					sink.onPassword(generate(length, specialChars, index, longOutput), 0, length);
+				}
+			} else if (windows) {
+				generateWindows(length, specialChars, source(corpus, in), sink);
+			} else {
+				WordTable uniqueWords = WordExtractor.wordTable(source(corpus, in), length);
+				sink.onPassword(generate(length, specialChars, uniqueWords, longOutput), 0, length);
+			}
+			if (filter != null) {
+				err.println(filter.getDuplicatesNo() + " duplicate passwords dropped");
+			}
+		}
+	}
+
+	// The length was validated against the short or long cap already, and the table holds at most length words.
+	// Long output goes through IGenerator.generateLong; short output is generated from the table's char sums.
+	static char[] generate(int length, char[] specialChars, WordTable uniqueWords, boolean longOutput)
+			throws Exception {
+		PasswordPolicy.validateUniqueWords(uniqueWords.size(), length, "corpus");
+		if (longOutput) {
+			return new PrimitiveGenerator().generateLong(length, specialChars, uniqueWords.toList());
+		}
+		char[] password = new char[length];
+		new PrimitiveGenerator().generateInto(length, specialChars, uniqueWords, password, 0);
+		return password;
+	}
+
+	// Starts from the precomputed char and digit sums of an index, nothing is tokenized.
+	static char[] generate(int length, char[] specialChars, CorpusIndex index, boolean longOutput)
+			throws Exception {
+		PasswordPolicy.validateUniqueWords(Math.min(index.size(), length), length, "corpus");
+		if (longOutput) {
+			return new PrimitiveGenerator().generateLong(length, specialChars, index.words(0, length));
+		}
+		char[] password = new char[length];
+		new PrimitiveGenerator().generateInto(length, specialChars, index.charSums(0, length),
+				index.digitSums(0, length), 0, password, 0);
+		return password;
+	}
+
+	private static WordSource source(Path corpus, InputStream in) {
+		return corpus != null ? WordSource.of(corpus) : WordSource.of(in);
+	}
+
+	// The temporary file must be on the same file system as the output for the move to be atomic.
+	private static Path directoryOf(Path file) {
+		Path directory = file.toAbsolutePath().getParent();
+		return directory != null ? directory : file.toAbsolutePath();
+	}
+
+	private static void generateWindows(int length, char[] specialChars, WordSource source, PasswordHandler sink)
+			throws Exception {
+		SlidingWindowGenerator windows = new SlidingWindowGenerator(length, specialChars, sink);
+		source.forEachWord(windows);
+		PasswordPolicy.validateUniqueWords((int) Math.min(windows.getUniqueWordsNo(), length), length, "corpus");
+	}
+
+	private static void generateWindows(int length, char[] specialChars, CorpusIndex index, PasswordHandler sink)
+			throws Exception {
+		SlidingWindowGenerator windows = new SlidingWindowGenerator(length, specialChars, sink);
+		for (int i = 0; i < index.size(); i++) {
+			windows.onUniqueWord(index.charSum(i), index.digitSum(i));
+		}
+		PasswordPolicy.validateUniqueWords(Math.min(index.size(), length), length, "corpus");
+	}
+
+	private static PasswordHandler printer(PrintStream out) {
+		return (chars, offset, count) -> {
+			out.append(CharBuffer.wrap(chars, offset, count)).println();
+			return true;
+		};
+	}
+}
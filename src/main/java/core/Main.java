@@ -1,6 +1,7 @@
 package core;
 
 import form.PasswordGeneratorFormWrapper;
+import generation.CachingGenerator;
 import generation.Generator;
 import generation.IGenerator;
 import javafx.application.Application;
@@ -8,9 +9,16 @@ import javafx.stage.Stage;
 
 public class Main extends Application {
 
+	// Repeated Generate clicks on an unchanged form skip the generation; the text is still tokenized for the key.
+	private static final int GENERATION_CACHE_SIZE = 32;
+
 	@Override
 	public void start(Stage primaryStage) throws Exception {
-		IGenerator generator = new Generator();
+		IGenerator generator = new CachingGenerator.Builder()
+				.withGenerator(new Generator())
+				.withMaximumSize(GENERATION_CACHE_SIZE)
+				.withStripes(1)
+				.build();
 		primaryStage.getProperties().put("hostServices", this.getHostServices());
 		PasswordGeneratorFormWrapper form = new PasswordGeneratorFormWrapper(generator, primaryStage);
 		createPasswordGeneratorForm(form);
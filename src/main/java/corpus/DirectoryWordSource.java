@@ -0,0 +1,143 @@
+package corpus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * All regular files under a directory, in the order of their sorted paths, read as one corpus. The first file is
+ * streamed straight to the handler on the caller's thread, so a caller that needs only a few words stops within it.
+ * Meanwhile the following files are mapped and tokenized in parallel into one WordTable each, which also drops the
+ * words repeated within a file, and handed on strictly in file order, so the result does not depend on which file
+ * finishes first. At most twice the parallelism of files is in flight at once.
+ *
+ * The remaining cost: a table holds a whole file's unique words, so one very large file past the first is one very
+ * large table, and a handler stopping early still pays for the files being prefetched up to that point. Workers
+ * stop at their next word once it does.
+ */
+public class DirectoryWordSource implements WordSource {
+
+	private final Path directory;
+	private final int parallelism;
+
+	public DirectoryWordSource(Path directory) {
+		this(directory, Runtime.getRuntime().availableProcessors());
+	}
+
+	public DirectoryWordSource(Path directory, int parallelism) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+		}
+		this.directory = directory;
+		this.parallelism = parallelism;
+	}
+
+	public List<Path> files() throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			return paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+		}
+	}
+
+	@Override
+	public void forEachWord(WordHandler handler) throws IOException {
+		Iterator<Path> files = files().iterator();
+		if (!files.hasNext()) {
+			return;
+		}
+		Path first = files.next();
+		AtomicBoolean stopped = new AtomicBoolean();
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+			Thread thread = new Thread(runnable, "corpus-reader");
+			thread.setDaemon(true);
+			return thread;
+		});
+		Queue<Future<WordTable>> inFlight = new ArrayDeque<>();
+		try {
+			prefetch(files, inFlight, executor, stopped);
+			if (!stream(first, handler)) {
+				return;
+			}
+			while (!inFlight.isEmpty()) {
+				if (!replay(await(inFlight.remove()), handler)) {
+					return;
+				}
+				prefetch(files, inFlight, executor, stopped);
+			}
+		} finally {
+			stopped.set(true);
+			executor.shutdownNow();
+		}
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	private void prefetch(Iterator<Path> files, Queue<Future<WordTable>> inFlight, ExecutorService executor,
+						  AtomicBoolean stopped) {
+		while (files.hasNext() && inFlight.size() < parallelism * 2) {
+			Path file = files.next();
+			inFlight.add(executor.submit(() -> read(file, stopped)));
+		}
+	}
+
+	// Returns false once the handler has.
+	private static boolean stream(Path file, WordHandler handler) throws IOException {
+		boolean[] more = {true};
+		new StreamingTokenizer().tokenize(file, (chars, offset, length, charSum) ->
+				more[0] = handler.onWord(chars, offset, length, charSum));
+		return more[0];
+	}
+
+	private static WordTable read(Path file, AtomicBoolean stopped) throws IOException {
+		WordTable words = new WordTable();
+		new StreamingTokenizer().tokenize(file, (chars, offset, length, charSum) ->
+				words.onWord(chars, offset, length, charSum) && !stopped.get());
+		return words;
+	}
+
+	private static boolean replay(WordTable words, WordHandler handler) {
+		for (int i = 0; i < words.size(); i++) {
+			if (!handler.onWord(words.getArena(), words.offset(i), words.length(i), words.charSum(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static WordTable await(Future<WordTable> table) throws IOException {
+		try {
+			return table.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while reading the corpus", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package corpus;
+
+import metrics.GenerationMetrics;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Splits text on any whitespace and hands every US-ASCII word of MIN_WORD_LENGTH to MAX_WORD_LENGTH chars to a
+ * WordHandler, reading the input in fixed-size chunks. Only the chunk and the word that spans two chunks are kept in
+ * memory, the latter in a carry of MAX_WORD_LENGTH chars: a longer token cannot qualify, so it is dropped once it
+ * outgrows the carry and skipped up to the next separator. The input size, and the longest run without whitespace,
+ * do not matter. Instances keep that state between chunks and must not be shared.
+ */
+public class StreamingTokenizer {
+
+	public static final int DEFAULT_CHUNK_SIZE = 8192;
+	private static final long MAX_MAPPED_REGION = 1 << 30;
+	private static final char LAST_ASCII_CHAR = 127;
+
+	private final int chunkSize;
+	private final char[] carry = new char[WordExtractor.MAX_WORD_LENGTH];
+	private int carryLength;
+	private boolean carryTooLong;
+
+	public StreamingTokenizer() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	public StreamingTokenizer(int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	public void tokenize(Reader reader, WordHandler handler) throws IOException {
+		clearCarry();
+		char[] chunk = new char[chunkSize];
+		int read;
+		while ((read = reader.read(chunk)) != -1) {
+			if (!feed(chunk, 0, read, handler)) {
+				return;
+			}
+		}
+		finish(handler);
+	}
+
+	// Maps the file region by region and decodes it as UTF-8 into a fixed char chunk.
+	public void tokenize(Path file, WordHandler handler) throws IOException {
+		clearCarry();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			CharBuffer chunk = CharBuffer.allocate(chunkSize);
+			long size = channel.size();
+			long position = 0;
+			while (true) {
+				long regionSize = Math.min(MAX_MAPPED_REGION, size - position);
+				boolean lastRegion = position + regionSize == size;
+				MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+				CoderResult result;
+				do {
+					result = decoder.decode(region, chunk, lastRegion);
+					if (!feed(chunk, handler)) {
+						return;
+					}
+				} while (result.isOverflow());
+				if (lastRegion) {
+					decoder.flush(chunk);
+					if (!feed(chunk, handler)) {
+						return;
+					}
+					break;
+				}
+				// Bytes of a char cut by the region end stay unconsumed and start the next region.
+				position += region.position();
+			}
+		}
+		finish(handler);
+	}
+
+	public void tokenize(String text, WordHandler handler) {
+		clearCarry();
+		char[] chunk = new char[Math.min(chunkSize, text.length())];
+		for (int start = 0; start < text.length(); start += chunk.length) {
+			int end = Math.min(start + chunk.length, text.length());
+			text.getChars(start, end, chunk, 0);
+			if (!feed(chunk, 0, end - start, handler)) {
+				return;
+			}
+		}
+		finish(handler);
+	}
+
+	private boolean feed(CharBuffer chunk, WordHandler handler) {
+		chunk.flip();
+		boolean more = feed(chunk.array(), chunk.arrayOffset(), chunk.remaining(), handler);
+		chunk.clear();
+		return more;
+	}
+
+	// Push API for callers that own the chunks: feed them in order, then call finish once.
+	public boolean feed(char[] chunk, int offset, int length, WordHandler handler) {
+		int end = offset + length;
+		int wordStart = offset;
+		for (int i = offset; i < end; i++) {
+			if (isSeparator(chunk[i])) {
+				if (!emitWord(chunk, wordStart, i, handler)) {
+					return false;
+				}
+				wordStart = i + 1;
+			}
+		}
+		appendToCarry(chunk, wordStart, end);
+		return true;
+	}
+
+	// Printable ASCII never separates, so Character.isWhitespace is only consulted for the rest.
+	private static boolean isSeparator(char c) {
+		return (c <= ' ' || c > LAST_ASCII_CHAR) && Character.isWhitespace(c);
+	}
+
+	// A word that started in a previous chunk is completed in the carry buffer first.
+	private boolean emitWord(char[] chunk, int start, int end, WordHandler handler) {
+		if (carryLength > 0 || carryTooLong) {
+			appendToCarry(chunk, start, end);
+			boolean more = emitCarry(handler);
+			clearCarry();
+			return more;
+		}
+		return qualifyAndEmit(chunk, start, end - start, handler);
+	}
+
+	private boolean emitCarry(WordHandler handler) {
+		if (carryTooLong) {
+			GenerationMetrics.recordWordScanned();
+			return true;
+		}
+		return qualifyAndEmit(carry, 0, carryLength, handler);
+	}
+
+	private boolean qualifyAndEmit(char[] chars, int offset, int length, WordHandler handler) {
+		if (length > 0) {
+			GenerationMetrics.recordWordScanned();
+		}
+		int charSum = WordQualifier.charSum(chars, offset, length);
+		return charSum == WordQualifier.NOT_QUALIFIED || handler.onWord(chars, offset, length, charSum);
+	}
+
+	public void finish(WordHandler handler) {
+		emitCarry(handler);
+		clearCarry();
+	}
+
+	private void appendToCarry(char[] chunk, int start, int end) {
+		int length = end - start;
+		if (length == 0 || carryTooLong) {
+			return;
+		}
+		if (carryLength + length > carry.length) {
+			carryTooLong = true;
+			return;
+		}
+		System.arraycopy(chunk, start, carry, carryLength, length);
+		carryLength += length;
+	}
+
+	private void clearCarry() {
+		carryLength = 0;
+		carryTooLong = false;
+	}
+
+}
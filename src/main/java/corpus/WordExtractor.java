@@ -0,0 +1,82 @@
+package corpus;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/*
+ * Collects the distinct qualifying words of a corpus in order of first occurrence. The limited variants stop
+ * scanning as soon as the requested number of unique words has been seen, so their cost depends on the prefix
+ * they need rather than on the size of the corpus.
+ */
+public class WordExtractor {
+
+	public static final int MIN_WORD_LENGTH = 5;
+	// Longer tokens, such as minified or binary data, are not words.
+	public static final int MAX_WORD_LENGTH = 256;
+	public static final int NO_LIMIT = Integer.MAX_VALUE;
+
+	private WordExtractor() {
+	}
+
+	public static List<String> uniqueWords(String text) {
+		return uniqueWords(text, NO_LIMIT);
+	}
+
+	public static List<String> uniqueWords(String text, int limit) {
+		return wordTable(text, limit).toList();
+	}
+
+	// Also stops, with the words collected so far, once stopped answers true, e.g. when a task was cancelled.
+	public static List<String> uniqueWords(String text, int limit, BooleanSupplier stopped) {
+		return wordTable(text, limit, stopped).toList();
+	}
+
+	public static List<String> uniqueWords(Reader reader) throws IOException {
+		return uniqueWords(reader, NO_LIMIT);
+	}
+
+	public static List<String> uniqueWords(Reader reader, int limit) throws IOException {
+		return wordTable(reader, limit).toList();
+	}
+
+	public static List<String> uniqueWords(Path file) throws IOException {
+		return uniqueWords(file, NO_LIMIT);
+	}
+
+	public static List<String> uniqueWords(Path file, int limit) throws IOException {
+		return wordTable(file, limit).toList();
+	}
+
+	// The WordTable variants keep the words flat and create no String at all.
+	public static WordTable wordTable(String text, int limit) {
+		WordTable table = new WordTable(limit);
+		new StreamingTokenizer().tokenize(text, table);
+		return table;
+	}
+
+	public static WordTable wordTable(String text, int limit, BooleanSupplier stopped) {
+		WordTable table = new WordTable(limit);
+		new StreamingTokenizer().tokenize(text, (chars, offset, length, charSum) -> !stopped.getAsBoolean()
+				&& table.onWord(chars, offset, length, charSum));
+		return table;
+	}
+
+	public static WordTable wordTable(Reader reader, int limit) throws IOException {
+		WordTable table = new WordTable(limit);
+		new StreamingTokenizer().tokenize(reader, table);
+		return table;
+	}
+
+	public static WordTable wordTable(Path file, int limit) throws IOException {
+		return wordTable(WordSource.of(file), limit);
+	}
+
+	public static WordTable wordTable(WordSource source, int limit) throws IOException {
+		WordTable table = new WordTable(limit);
+		source.forEachWord(table);
+		return table;
+	}
+}
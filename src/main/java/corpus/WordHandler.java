@@ -0,0 +1,10 @@
+package corpus;
+
+@FunctionalInterface
+public interface WordHandler {
+	/*
+	 * Receives a qualifying word as a range of a buffer that is reused afterwards, so the chars must be copied
+	 * if they are kept, together with the sum of its char codes. Returning false stops the scan.
+	 */
+	boolean onWord(char[] chars, int offset, int length, int charSum);
+}
@@ -0,0 +1,48 @@
+package corpus;
+
+/*
+ * Qualification kernel: one pass over the chars answers the length check, the US-ASCII check and the char sum
+ * the generators derive everything from. The loop has no data dependent branch, ORing every char into a mask
+ * that is tested once at the end, so the JIT can unroll it.
+ */
+public class WordQualifier {
+
+	public static final int NOT_QUALIFIED = -1;
+	private static final int NON_ASCII_BITS = ~0x7F;
+
+	private WordQualifier() {
+	}
+
+	// Returns the sum of the char codes of a qualifying word, or NOT_QUALIFIED.
+	public static int charSum(char[] chars, int offset, int length) {
+		if (length < WordExtractor.MIN_WORD_LENGTH || length > WordExtractor.MAX_WORD_LENGTH) {
+			return NOT_QUALIFIED;
+		}
+		int sum = 0;
+		int bits = 0;
+		for (int i = offset, end = offset + length; i < end; i++) {
+			char c = chars[i];
+			sum += c;
+			bits |= c;
+		}
+		return (bits & NON_ASCII_BITS) == 0 ? sum : NOT_QUALIFIED;
+	}
+
+	public static int charSum(String word) {
+		if (word.length() < WordExtractor.MIN_WORD_LENGTH || word.length() > WordExtractor.MAX_WORD_LENGTH) {
+			return NOT_QUALIFIED;
+		}
+		int sum = 0;
+		int bits = 0;
+		for (int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			sum += c;
+			bits |= c;
+		}
+		return (bits & NON_ASCII_BITS) == 0 ? sum : NOT_QUALIFIED;
+	}
+
+	public static boolean isQualified(String word) {
+		return charSum(word) != NOT_QUALIFIED;
+	}
+}
@@ -0,0 +1,40 @@
+package corpus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * Where the words of a corpus come from. A source feeds its qualifying words to a WordHandler in corpus order,
+ * every distinct word at least once and first at its first occurrence, until the handler returns false.
+ * Sources may drop repeated words early, so handlers that need distinct words still deduplicate.
+ */
+@FunctionalInterface
+public interface WordSource {
+
+	void forEachWord(WordHandler handler) throws IOException;
+
+	static WordSource of(Reader reader) {
+		return handler -> new StreamingTokenizer().tokenize(reader, handler);
+	}
+
+	static WordSource of(InputStream in) {
+		return of(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+	// A directory is read as the whole tree under it, anything else as a single file.
+	static WordSource of(Path path) {
+		if (Files.isDirectory(path)) {
+			return new DirectoryWordSource(path);
+		}
+		return handler -> new StreamingTokenizer().tokenize(path, handler);
+	}
+
+	static WordSource ofText(String text) {
+		return handler -> new StreamingTokenizer().tokenize(text, handler);
+	}
+}
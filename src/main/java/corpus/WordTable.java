@@ -0,0 +1,190 @@
+package corpus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * The distinct words of a corpus in order of first occurrence, stored flat: the chars of all words back to back in
+ * one arena, and per word its offset, length, char sum and hash in parallel int arrays. Deduplication probes an
+ * open-addressing table of word indexes and compares char ranges in the arena, so adding or finding a word creates
+ * no object. Takes the unique chars plus 16 bytes per word and at most 16 bytes per word in the table.
+ * Not safe to share between threads.
+ */
+public class WordTable implements WordHandler {
+
+	private static final int INITIAL_WORDS = 64;
+	private static final int INITIAL_ARENA = 1024;
+	private static final int EMPTY = -1;
+
+	private final int limit;
+	private char[] arena = new char[INITIAL_ARENA];
+	private int arenaSize;
+	private int[] offsets = new int[INITIAL_WORDS];
+	private int[] lengths = new int[INITIAL_WORDS];
+	private int[] charSums = new int[INITIAL_WORDS];
+	private int[] hashes = new int[INITIAL_WORDS];
+	private int size;
+	// Word indexes, linearly probed. The length is a power of two kept at least twice the number of words.
+	private int[] slots = newSlots(INITIAL_WORDS * 2);
+
+	public WordTable() {
+		this(WordExtractor.NO_LIMIT);
+	}
+
+	// As a WordHandler, stops the scan once limit distinct words have been added.
+	public WordTable(int limit) {
+		this.limit = limit;
+	}
+
+	@Override
+	public boolean onWord(char[] chars, int offset, int length, int charSum) {
+		if (size >= limit) {
+			return false;
+		}
+		add(chars, offset, length, charSum);
+		return size < limit;
+	}
+
+	// Returns the index of the word, adding it after the last one if it is new.
+	public int add(char[] chars, int offset, int length, int charSum) {
+		int hash = hash(chars, offset, length);
+		int slot = find(chars, offset, length, hash);
+		if (slots[slot] != EMPTY) {
+			return slots[slot];
+		}
+		ensureCapacity(length);
+		System.arraycopy(chars, offset, arena, arenaSize, length);
+		offsets[size] = arenaSize;
+		lengths[size] = length;
+		charSums[size] = charSum;
+		hashes[size] = hash;
+		slots[slot] = size;
+		arenaSize += length;
+		size++;
+		if (size * 2 > slots.length) {
+			rehash();
+		}
+		return size - 1;
+	}
+
+	// Returns the index of the word, or -1 if it has not been added.
+	public int indexOf(char[] chars, int offset, int length) {
+		return slots[find(chars, offset, length, hash(chars, offset, length))];
+	}
+
+	public int indexOf(String word) {
+		return indexOf(word.toCharArray(), 0, word.length());
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int offset(int index) {
+		checkIndex(index);
+		return offsets[index];
+	}
+
+	public int length(int index) {
+		checkIndex(index);
+		return lengths[index];
+	}
+
+	public int charSum(int index) {
+		checkIndex(index);
+		return charSums[index];
+	}
+
+	// Backing arena: word i is at [offset(i), offset(i) + length(i)). Valid until the next add.
+	public char[] getArena() {
+		return arena;
+	}
+
+	// Backing char sums, indexed like the words; only the first size() are valid. Valid until the next add.
+	public int[] getCharSums() {
+		return charSums;
+	}
+
+	public String word(int index) {
+		checkIndex(index);
+		return new String(arena, offsets[index], lengths[index]);
+	}
+
+	public List<String> toList() {
+		List<String> words = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			words.add(new String(arena, offsets[i], lengths[i]));
+		}
+		return words;
+	}
+
+	// Returns the slot holding the word, or the empty slot where it belongs.
+	private int find(char[] chars, int offset, int length, int hash) {
+		int mask = slots.length - 1;
+		int slot = hash & mask;
+		while (slots[slot] != EMPTY && !matches(slots[slot], hash, chars, offset, length)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private boolean matches(int index, int hash, char[] chars, int offset, int length) {
+		if (hashes[index] != hash || lengths[index] != length) {
+			return false;
+		}
+		int start = offsets[index];
+		for (int i = 0; i < length; i++) {
+			if (arena[start + i] != chars[offset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void ensureCapacity(int length) {
+		if (arenaSize + length > arena.length) {
+			arena = Arrays.copyOf(arena, Math.max(arenaSize + length, arena.length * 2));
+		}
+		if (size == offsets.length) {
+			int capacity = size * 2;
+			offsets = Arrays.copyOf(offsets, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			charSums = Arrays.copyOf(charSums, capacity);
+			hashes = Arrays.copyOf(hashes, capacity);
+		}
+	}
+
+	private void rehash() {
+		slots = newSlots(slots.length * 2);
+		int mask = slots.length - 1;
+		for (int i = 0; i < size; i++) {
+			int slot = hashes[i] & mask;
+			while (slots[slot] != EMPTY) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = i;
+		}
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Word " + index + " of " + size);
+		}
+	}
+
+	private static int[] newSlots(int capacity) {
+		int[] slots = new int[capacity];
+		Arrays.fill(slots, EMPTY);
+		return slots;
+	}
+
+	private static int hash(char[] chars, int offset, int length) {
+		int hash = 0;
+		for (int i = offset; i < offset + length; i++) {
+			hash = 31 * hash + chars[i];
+		}
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
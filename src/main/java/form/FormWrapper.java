@@ -149,9 +149,13 @@ public abstract class FormWrapper {
 	}
 
 	protected void addBox(Node node, int column, int row, double spacing, Pos position) {
+		this.addBox(column, row, spacing, position, node);
+	}
+
+	protected void addBox(int column, int row, double spacing, Pos position, Node... nodes) {
 		HBox hbox = new HBox(spacing);
 		hbox.setAlignment(position);
-		hbox.getChildren().add(node);
+		hbox.getChildren().addAll(nodes);
 		this.getGrid().add(hbox, column, row);
 	}
 
@@ -159,6 +163,13 @@ public abstract class FormWrapper {
 		this.stage.show();
 	}
 
+	protected ProgressIndicator addProgressIndicator(double size, String... cssClasses) {
+		ProgressIndicator progressIndicator = new ProgressIndicator();
+		progressIndicator.setPrefSize(size, size);
+		this.applyCssClasses(progressIndicator, cssClasses);
+		return progressIndicator;
+	}
+
 	protected Button addButton(String label, String... cssClasses) {
 		Button button = new Button(label);
 		this.applyCssClasses(button, cssClasses);
@@ -4,50 +4,122 @@ import exceptions.InvalidPasswordLengthException;
 import exceptions.InvalidSpecialCharsSizeException;
 import exceptions.NotAdequateValidWordsException;
 import generation.IGenerator;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
 import javafx.scene.control.Alert;
 import model.PasswordGeneratorForm;
 
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Validates the cheap fields on the JavaFX Application Thread, then tokenizes and generates in a background Task,
+ * so a large text never freezes the window. The result is published back on the JavaFX Application Thread.
+ */
 public class GeneratePasswordController implements ActionController {
 	private final IGenerator generator;
+	private final Executor executor;
+	private final ReadOnlyBooleanWrapper running = new ReadOnlyBooleanWrapper(false);
+	private Task<char[]> currentTask;
 
 	public GeneratePasswordController(IGenerator generator) {
+		this(generator, newGenerationExecutor());
+	}
+
+	public GeneratePasswordController(IGenerator generator, Executor executor) {
 		this.generator = generator;
+		this.executor = executor;
 	}
 
 	@Override
 	public void handleAction(Object model, Alert alert) {
 		PasswordGeneratorForm formModel = (PasswordGeneratorForm) model;
-		if (isModelValid(formModel, alert)) {
-			try {
-				Integer passwordLength = formModel.getPasswordLength().getValue();
-				char[] chars = String.join("", formModel.getSpecialChars().getCheckModel().getCheckedItems())
-						.toCharArray();
-				char[] generated = this.generator.generate(passwordLength, chars, formModel.getUniqueWords(passwordLength));
-				if (generated != null && generated.length == passwordLength) {
-					alert.setAlertType(Alert.AlertType.INFORMATION);
-					Utils.showAlert(alert, "Password generated successfully!");
-					formModel.getPasswordField().setText(new String(generated));
-				} else {
-					throw new Exception();
-				}
-			} catch (Exception e) {
-				e.printStackTrace();
+		if (running.get() || !isModelValid(formModel, alert)) {
+			return;
+		}
+		Integer passwordLength = formModel.getPasswordLength().getValue();
+		char[] chars = String.join("", formModel.getSpecialChars().getCheckModel().getCheckedItems())
+				.toCharArray();
+		String text = formModel.getTextArea().getText();
+
+		Task<char[]> task = new Task<char[]>() {
+			@Override
+			protected char[] call() throws Exception {
+				List<String> uniqueWords = formModel.validateText(text, passwordLength, this::isCancelled);
+				return isCancelled() ? null : generator.generate(passwordLength, chars, uniqueWords);
+			}
+		};
+		task.setOnSucceeded(event -> {
+			finish();
+			char[] generated = task.getValue();
+			if (generated != null && generated.length == passwordLength) {
+				alert.setAlertType(Alert.AlertType.INFORMATION);
+				Utils.showAlert(alert, "Password generated successfully!");
+				formModel.getPasswordField().setText(new String(generated));
+			} else {
+				showUnexpectedError(alert);
+			}
+		});
+		task.setOnFailed(event -> {
+			finish();
+			if (task.getException() instanceof NotAdequateValidWordsException) {
 				alert.setAlertType(Alert.AlertType.ERROR);
-				Utils.showAlert(alert, "Unexpected Error while generating the Password");
+				Utils.showAlert(alert, task.getException().getMessage());
+			} else {
+				task.getException().printStackTrace();
+				showUnexpectedError(alert);
 			}
+		});
+		task.setOnCancelled(event -> {
+			finish();
+			alert.setAlertType(Alert.AlertType.INFORMATION);
+			Utils.showAlert(alert, "Password generation cancelled");
+		});
+		currentTask = task;
+		running.set(true);
+		executor.execute(task);
+	}
+
+	public void cancel() {
+		if (currentTask != null) {
+			currentTask.cancel();
 		}
 	}
 
+	public ReadOnlyBooleanProperty runningProperty() {
+		return running.getReadOnlyProperty();
+	}
+
+	private void finish() {
+		currentTask = null;
+		running.set(false);
+	}
+
+	private void showUnexpectedError(Alert alert) {
+		alert.setAlertType(Alert.AlertType.ERROR);
+		Utils.showAlert(alert, "Unexpected Error while generating the Password");
+	}
+
 	private boolean isModelValid(PasswordGeneratorForm model, Alert alert) {
 		try {
 			model.validatePasswordLength();
 			model.validateSpecialChars();
-			model.validateTextArea();
-		} catch (InvalidPasswordLengthException | NotAdequateValidWordsException | InvalidSpecialCharsSizeException e) {
+		} catch (InvalidPasswordLengthException | InvalidSpecialCharsSizeException e) {
 			alert.setAlertType(Alert.AlertType.ERROR);
 			Utils.showAlert(alert, e.getMessage());
 			return false;
 		}
 		return true;
 	}
-}
\ No newline at end of file
+
+	private static ExecutorService newGenerationExecutor() {
+		return Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "password-generation");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+}
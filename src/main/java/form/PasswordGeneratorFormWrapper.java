@@ -69,7 +69,8 @@ public class PasswordGeneratorFormWrapper extends FormWrapper {
 	}
 
 	private void addFormLabels() {
-		super.addLabel("Password Length: ", 1, 0, "Password Length must be between 8 and 20");
+		super.addLabel("Password Length: ", 1, 0, "Password Length must be between "
+				+ PasswordGeneratorForm.MIN_PASSWORD_LENGTH + " and " + PasswordGeneratorForm.MAX_PASSWORD_LENGTH);
 		super.addLabel("Special Characters: ", 3, 0, "Pick at least 3 special characters");
 		super.addLabel("Text snippet: ", 5, 0, "It must contain at least 8 US-ASCII words \n" +
 				"with at least 5 characters. Maximum number of characters: 1000");
@@ -78,7 +79,8 @@ public class PasswordGeneratorFormWrapper extends FormWrapper {
 
 	private void addFormFields() {
 		ComboBox<? extends Integer> passwordLength = (ComboBox<? extends Integer>) super.
-				addComboBox(1, IntStream.rangeClosed(8, 20).boxed().collect(Collectors.toList()));
+				addComboBox(1, IntStream.rangeClosed(PasswordGeneratorForm.MIN_PASSWORD_LENGTH,
+						PasswordGeneratorForm.MAX_PASSWORD_LENGTH).boxed().collect(Collectors.toList()));
 
 
 		CheckComboBox<? extends String> specialChars = (CheckComboBox<? extends String>) super.
@@ -111,11 +113,17 @@ public class PasswordGeneratorFormWrapper extends FormWrapper {
 				});
 				break;
 			case SUBMIT:
-				super.addBox(button, 1, row, 10, Pos.CENTER_LEFT);
-				ActionController generatePasswordController = new GeneratePasswordController(generator);
+				GeneratePasswordController generatePasswordController = new GeneratePasswordController(generator);
+				Button cancelButton = super.addButton("Cancel", "submit", "cancel");
+				ProgressIndicator progressIndicator = super.addProgressIndicator(28);
+				cancelButton.visibleProperty().bind(generatePasswordController.runningProperty());
+				progressIndicator.visibleProperty().bind(generatePasswordController.runningProperty());
+				button.disableProperty().bind(generatePasswordController.runningProperty());
+				super.addBox(1, row, 10, Pos.CENTER_LEFT, button, progressIndicator, cancelButton);
 				button.setOnAction((event) -> {
 					generatePasswordController.handleAction(model, this.getAlert());
 				});
+				cancelButton.setOnAction((event) -> generatePasswordController.cancel());
 				break;
 			case RESET:
 				super.addBox(button, 1, row, 10, Pos.CENTER_LEFT);
@@ -0,0 +1,69 @@
+package generation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * The passwords of a batch laid out back to back in one buffer. Password i occupies
+ * [offset(i), offset(i) + length(i)) of getBuffer().
+ */
+public class BatchResult {
+
+	private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
+	private final char[] buffer;
+	private final int[] offsets;
+
+	private BatchResult(char[] buffer, int[] offsets) {
+		this.buffer = buffer;
+		this.offsets = offsets;
+	}
+
+	public static BatchResult allocate(List<GenerationSpec> specs) {
+		int[] offsets = new int[specs.size() + 1];
+		long total = 0;
+		for (int i = 0; i < specs.size(); i++) {
+			offsets[i] = (int) total;
+			total += specs.get(i).getLength();
+			if (total > MAX_BUFFER_SIZE) {
+				throw new IllegalArgumentException("Batch does not fit in one buffer: more than " + MAX_BUFFER_SIZE
+						+ " chars");
+			}
+		}
+		offsets[specs.size()] = (int) total;
+		return new BatchResult(new char[(int) total], offsets);
+	}
+
+	// count passwords of the same length, e.g. one per corpus window.
+	public static BatchResult allocate(int count, int length) {
+		if ((long) count * length > MAX_BUFFER_SIZE) {
+			throw new IllegalArgumentException("Batch does not fit in one buffer: more than " + MAX_BUFFER_SIZE
+					+ " chars");
+		}
+		int[] offsets = new int[count + 1];
+		for (int i = 0; i <= count; i++) {
+			offsets[i] = i * length;
+		}
+		return new BatchResult(new char[count * length], offsets);
+	}
+
+	public int size() {
+		return offsets.length - 1;
+	}
+
+	public int offset(int i) {
+		return offsets[i];
+	}
+
+	public int length(int i) {
+		return offsets[i + 1] - offsets[i];
+	}
+
+	public char[] getBuffer() {
+		return buffer;
+	}
+
+	public char[] get(int i) {
+		return Arrays.copyOfRange(buffer, offsets[i], offsets[i + 1]);
+	}
+}
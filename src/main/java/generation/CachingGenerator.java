@@ -0,0 +1,226 @@
+package generation;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Opt-in memoization of another generator, which must be deterministic: a password is a pure function of the
+ * length, the special chars and the unique words. Results are keyed by a GenerationKey, so a hit costs one pass
+ * over the words to hash them and nothing else. Tokenization is deliberately not skipped: keys are taken from the
+ * words rather than the corpus text, because the tokenizer stops after length unique words, which is cheaper than
+ * hashing a whole text. Callers therefore still tokenize before every call, hit or miss.
+ *
+ * Entries are spread over lock-striped least-recently-used maps, each bounded by its share of the maximum size and
+ * weight, in bytes; eviction is therefore LRU per stripe, and evicted passwords are cleared. An entry heavier than
+ * a stripe's weight share is returned but not cached. Failures are not cached, and two threads missing the same
+ * key at once both generate. Every call returns a fresh copy the caller owns. Safe to share between threads as
+ * long as the delegate is.
+ */
+public class CachingGenerator implements IGenerator {
+
+	private static final int DEFAULT_STRIPES = 16;
+	private static final long DEFAULT_MAXIMUM_SIZE = 1024;
+	// Key, map entry and array headers, roughly, on top of two bytes per password char.
+	private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+	private final IGenerator delegate;
+	private final Stripe[] stripes;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	private CachingGenerator(Builder builder) {
+		this.delegate = builder.delegate;
+		int stripesNo = Integer.highestOneBit(builder.stripes - 1) << 1;
+		this.stripes = new Stripe[Math.max(1, stripesNo)];
+		long maxSize = Math.max(1, ceilDiv(builder.maximumSize, stripes.length));
+		long maxWeight = Math.max(1, ceilDiv(builder.maximumWeight, stripes.length));
+		for (int i = 0; i < stripes.length; i++) {
+			stripes[i] = new Stripe(maxSize, maxWeight);
+		}
+	}
+
+	@Override
+	public char[] generate(int length, char[] specialChars, List<String> uniqueWords) throws Exception {
+		GenerationKey key = GenerationKey.ofWords(length, specialChars, uniqueWords);
+		char[] password = lookup(key);
+		if (password == null) {
+			password = delegate.generate(length, specialChars, uniqueWords);
+			store(key, password);
+		}
+		return password;
+	}
+
+	public long getHitsNo() {
+		return hits.sum();
+	}
+
+	public long getMissesNo() {
+		return misses.sum();
+	}
+
+	public long getEvictionsNo() {
+		return evictions.sum();
+	}
+
+	public double getHitRate() {
+		long hitsNo = hits.sum();
+		long requestsNo = hitsNo + misses.sum();
+		return requestsNo == 0 ? 0 : (double) hitsNo / requestsNo;
+	}
+
+	public long size() {
+		long size = 0;
+		for (Stripe stripe : stripes) {
+			size += stripe.size();
+		}
+		return size;
+	}
+
+	// Estimated bytes held by the cached entries.
+	public long getWeight() {
+		long weight = 0;
+		for (Stripe stripe : stripes) {
+			weight += stripe.weight();
+		}
+		return weight;
+	}
+
+	public void clear() {
+		for (Stripe stripe : stripes) {
+			stripe.clear();
+		}
+	}
+
+	private char[] lookup(GenerationKey key) {
+		char[] password = stripeOf(key).get(key);
+		if (password == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return password;
+	}
+
+	private void store(GenerationKey key, char[] password) {
+		evictions.add(stripeOf(key).put(key, password.clone()));
+	}
+
+	private Stripe stripeOf(GenerationKey key) {
+		return stripes[key.stripe(stripes.length - 1)];
+	}
+
+	private static long weightOf(char[] password) {
+		return ENTRY_OVERHEAD_BYTES + (long) password.length * Character.BYTES;
+	}
+
+	private static long ceilDiv(long dividend, long divisor) {
+		return dividend / divisor + (dividend % divisor == 0 ? 0 : 1);
+	}
+
+	private static final class Stripe {
+		private final long maxSize;
+		private final long maxWeight;
+		private final LinkedHashMap<GenerationKey, char[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+		private long weight;
+
+		Stripe(long maxSize, long maxWeight) {
+			this.maxSize = maxSize;
+			this.maxWeight = maxWeight;
+		}
+
+		// Copies under the lock, since an eviction clears the cached array.
+		synchronized char[] get(GenerationKey key) {
+			char[] password = entries.get(key);
+			return password == null ? null : password.clone();
+		}
+
+		// Returns how many entries were evicted to stay within bounds.
+		synchronized int put(GenerationKey key, char[] password) {
+			if (weightOf(password) > maxWeight) {
+				Arrays.fill(password, '\0');
+				return 0;
+			}
+			char[] previous = entries.put(key, password);
+			if (previous != null) {
+				weight -= weightOf(previous);
+			}
+			weight += weightOf(password);
+			int evicted = 0;
+			Iterator<Map.Entry<GenerationKey, char[]>> eldest = entries.entrySet().iterator();
+			while (entries.size() > maxSize || weight > maxWeight) {
+				char[] evictedPassword = eldest.next().getValue();
+				eldest.remove();
+				weight -= weightOf(evictedPassword);
+				Arrays.fill(evictedPassword, '\0');
+				evicted++;
+			}
+			return evicted;
+		}
+
+		synchronized int size() {
+			return entries.size();
+		}
+
+		synchronized long weight() {
+			return weight;
+		}
+
+		synchronized void clear() {
+			for (char[] password : entries.values()) {
+				Arrays.fill(password, '\0');
+			}
+			entries.clear();
+			weight = 0;
+		}
+	}
+
+	public static class Builder {
+
+		private IGenerator delegate;
+		private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+		private long maximumWeight = Long.MAX_VALUE;
+		private int stripes = DEFAULT_STRIPES;
+
+		public Builder() {
+		}
+
+		// The generator whose results are cached. It must be deterministic.
+		public Builder withGenerator(IGenerator delegate) {
+			this.delegate = delegate;
+			return this;
+		}
+
+		// Entries kept across all stripes.
+		public Builder withMaximumSize(long maximumSize) {
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		// Estimated bytes kept across all stripes, unbounded by default.
+		public Builder withMaximumWeight(long maximumWeight) {
+			this.maximumWeight = maximumWeight;
+			return this;
+		}
+
+		// Independent locks, rounded up to a power of two. More stripes contend less but evict less precisely.
+		public Builder withStripes(int stripes) {
+			this.stripes = stripes;
+			return this;
+		}
+
+		public CachingGenerator build() {
+			if (delegate == null) {
+				throw new IllegalStateException("Generator to cache is required");
+			}
+			if (maximumSize <= 0 || maximumWeight <= 0 || stripes <= 0) {
+				throw new IllegalArgumentException("Cache size, weight and stripes must be positive");
+			}
+			return new CachingGenerator(this);
+		}
+	}
+}
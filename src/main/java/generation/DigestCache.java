@@ -0,0 +1,44 @@
+package generation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Bounded least-recently-used cache of word digests, so repeated generations over the same corpus
+ * look the digests up instead of recomputing them. Safe to share between threads.
+ */
+public class DigestCache {
+
+	private final int maxSize;
+	private final Map<String, WordDigest> digests;
+
+	public DigestCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+		}
+		this.maxSize = maxSize;
+		this.digests = new LinkedHashMap<String, WordDigest>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, WordDigest> eldest) {
+				return size() > DigestCache.this.maxSize;
+			}
+		};
+	}
+
+	public synchronized WordDigest get(String word) {
+		WordDigest digest = digests.get(word);
+		if (digest == null) {
+			digest = WordDigest.of(word);
+			digests.put(word, digest);
+		}
+		return digest;
+	}
+
+	public synchronized int size() {
+		return digests.size();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+}
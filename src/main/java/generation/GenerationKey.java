@@ -0,0 +1,81 @@
+package generation;
+
+import hashing.Fingerprints;
+
+import java.util.List;
+
+/*
+ * 128-bit fingerprint of a generation's inputs, the two seeded hashes of Fingerprints, so a cache holds 16 bytes
+ * per key instead of the words. Every word is framed by its length, so distinct inputs only share a key by a
+ * 2^-128 chance.
+ */
+final class GenerationKey {
+
+	private final long high;
+	private final long low;
+
+	private GenerationKey(long high, long low) {
+		this.high = high;
+		this.low = low;
+	}
+
+	static GenerationKey ofWords(int length, char[] specialChars, List<String> uniqueWords) {
+		Hasher hasher = new Hasher(length, specialChars);
+		hasher.add(uniqueWords.size());
+		for (String word : uniqueWords) {
+			hasher.add(word);
+		}
+		return hasher.key();
+	}
+
+	// Picks a stripe from the bits the hash code does not use, so stripes and their maps spread keys independently.
+	int stripe(int mask) {
+		return (int) high & mask;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof GenerationKey)) {
+			return false;
+		}
+		GenerationKey key = (GenerationKey) o;
+		return high == key.high && low == key.low;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (low ^ (low >>> 32));
+	}
+
+	private static final class Hasher {
+		private long hash1 = Fingerprints.SEED_1;
+		private long hash2 = Fingerprints.SEED_2;
+
+		Hasher(int length, char[] specialChars) {
+			add(length);
+			add(specialChars.length);
+			for (char c : specialChars) {
+				add(c);
+			}
+		}
+
+		void add(String text) {
+			add(text.length());
+			for (int i = 0; i < text.length(); i++) {
+				add(text.charAt(i));
+			}
+		}
+
+		void add(int value) {
+			hash1 = Fingerprints.step(hash1, value);
+			hash2 = Fingerprints.step(hash2, value);
+		}
+
+		GenerationKey key() {
+			return new GenerationKey(Fingerprints.mix(hash1), Fingerprints.mix(hash2));
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package generation;
+
+import java.util.List;
+
+public class GenerationSpec {
+
+	private final int length;
+	private final char[] specialChars;
+	private final List<String> uniqueWords;
+
+	public GenerationSpec(int length, char[] specialChars, List<String> uniqueWords) {
+		this.length = length;
+		this.specialChars = specialChars;
+		this.uniqueWords = uniqueWords;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	public char[] getSpecialChars() {
+		return specialChars;
+	}
+
+	public List<String> getUniqueWords() {
+		return uniqueWords;
+	}
+}
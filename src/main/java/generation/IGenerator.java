@@ -4,5 +4,31 @@ import java.util.List;
 
 @FunctionalInterface
 public interface IGenerator {
+
 	char[] generate(int length, char[] specialChars, List<String> uniqueWords) throws Exception;
+
+	// Long secrets such as API or disk-encryption keys: same algorithm, one unique word per output char. Checks only
+	// what the algorithm needs; the length limits are PasswordPolicy's.
+	default char[] generateLong(int length, char[] specialChars, List<String> uniqueWords) throws Exception {
+		if (length <= specialChars.length) {
+			throw new IllegalArgumentException("A password of length " + length + " needs more words than its "
+					+ specialChars.length + " special characters");
+		}
+		if (uniqueWords.size() < length) {
+			throw new IllegalArgumentException("A password of length " + length + " needs as many unique words, got "
+					+ uniqueWords.size());
+		}
+		return generate(length, specialChars, uniqueWords.subList(0, length));
+	}
+
+	// Generates every spec into one preallocated buffer. Implementations with scratch state reuse it across specs.
+	default BatchResult generateBatch(List<GenerationSpec> specs) throws Exception {
+		BatchResult result = BatchResult.allocate(specs);
+		for (int i = 0; i < specs.size(); i++) {
+			GenerationSpec spec = specs.get(i);
+			char[] password = generate(spec.getLength(), spec.getSpecialChars(), spec.getUniqueWords());
+			System.arraycopy(password, 0, result.getBuffer(), result.offset(i), result.length(i));
+		}
+		return result;
+	}
 }
@@ -0,0 +1,131 @@
+package generation;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Splits bulk jobs, many specs or many corpus windows, into ranges that run on a ForkJoinPool. Every range
+ * writes to its own slice of one preallocated BatchResult, so order and content are exactly those of a sequential
+ * run whatever the scheduling. Each worker thread uses its own PrimitiveGenerator, and so its own scratch buffers.
+ * Safe to share between threads.
+ */
+public class ParallelGenerator implements IGenerator {
+
+	private static final int TASKS_PER_THREAD = 8;
+
+	private final ForkJoinPool pool;
+	private final ThreadLocal<PrimitiveGenerator> generators = ThreadLocal.withInitial(PrimitiveGenerator::new);
+
+	public ParallelGenerator() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public ParallelGenerator(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public char[] generate(int length, char[] specialChars, List<String> uniqueWords) throws Exception {
+		return generators.get().generate(length, specialChars, uniqueWords);
+	}
+
+	@Override
+	public BatchResult generateBatch(List<GenerationSpec> specs) throws Exception {
+		BatchResult result = BatchResult.allocate(specs);
+		invoke(new RangeTask((generator, i) -> {
+			GenerationSpec spec = specs.get(i);
+			generator.generateInto(spec.getLength(), spec.getSpecialChars(), spec.getUniqueWords(),
+					result.getBuffer(), result.offset(i));
+		}, 0, specs.size(), leafSize(specs.size())));
+		return result;
+	}
+
+	// One password per window of windowSize consecutive words: charSums[i, i + windowSize) for every i.
+	public BatchResult generateWindows(int[] charSums, int wordsNo, int windowSize, char[] specialChars)
+			throws Exception {
+		int windowsNo = Math.max(0, wordsNo - windowSize + 1);
+		// Every word is in up to windowSize windows, so its digest is computed once up front.
+		int[] digitSums = new int[wordsNo];
+		int[] letterIdxs = new int[wordsNo];
+		for (int i = 0; i < wordsNo; i++) {
+			digitSums[i] = WordDigest.calculateSumOfDigits(charSums[i]);
+			letterIdxs[i] = WordDigest.calculateLetterIdx(digitSums[i]);
+		}
+		BatchResult result = BatchResult.allocate(windowsNo, windowSize);
+		invoke(new RangeTask((generator, i) -> generator.generateInto(windowSize, specialChars, charSums, digitSums,
+				letterIdxs, i, result.getBuffer(), result.offset(i)), 0, windowsNo, leafSize(windowsNo)));
+		return result;
+	}
+
+	public BatchResult generateWindows(List<String> uniqueWords, int windowSize, char[] specialChars)
+			throws Exception {
+		int[] charSums = new int[uniqueWords.size()];
+		for (int i = 0; i < charSums.length; i++) {
+			charSums[i] = WordDigest.getSumOfAsciiCodesOfAWord(uniqueWords.get(i));
+		}
+		return generateWindows(charSums, charSums.length, windowSize, specialChars);
+	}
+
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+	private int leafSize(int count) {
+		return Math.max(1, count / (pool.getParallelism() * TASKS_PER_THREAD));
+	}
+
+	private void invoke(RangeTask task) throws Exception {
+		try {
+			pool.invoke(task);
+		} catch (GenerationFailedException e) {
+			Throwable cause = e;
+			while (cause instanceof GenerationFailedException) {
+				cause = cause.getCause();
+			}
+			throw (Exception) cause;
+		}
+	}
+
+	@FunctionalInterface
+	private interface ItemGenerator {
+		void generate(PrimitiveGenerator generator, int i) throws Exception;
+	}
+
+	private class RangeTask extends RecursiveAction {
+		private final ItemGenerator item;
+		private final int from;
+		private final int to;
+		private final int leafSize;
+
+		RangeTask(ItemGenerator item, int from, int to, int leafSize) {
+			this.item = item;
+			this.from = from;
+			this.to = to;
+			this.leafSize = leafSize;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= leafSize) {
+				PrimitiveGenerator generator = generators.get();
+				for (int i = from; i < to; i++) {
+					try {
+						item.generate(generator, i);
+					} catch (Exception e) {
+						throw new GenerationFailedException(e);
+					}
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new RangeTask(item, from, middle, leafSize), new RangeTask(item, middle, to, leafSize));
+		}
+	}
+
+	private static class GenerationFailedException extends RuntimeException {
+		GenerationFailedException(Exception cause) {
+			super(cause);
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package generation;
+
+@FunctionalInterface
+public interface PasswordHandler {
+	/*
+	 * Receives a generated password as a range of a buffer that may be reused afterwards, so the chars must be
+	 * copied if they are kept. Returning false stops the producer.
+	 */
+	boolean onPassword(char[] chars, int offset, int length);
+}
@@ -0,0 +1,180 @@
+package generation;
+
+import corpus.WordTable;
+import metrics.GenerationMetrics;
+import metrics.Phase;
+
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Same algorithm as Generator, but working on primitive scratch buffers and index cursors only.
+ * Scratch state is reused between calls, so an instance must not be shared between threads.
+ */
+public class PrimitiveGenerator implements IGenerator {
+
+	private final static int INITIAL_CAPACITY = 32;
+
+	private int[] asciiSums = new int[INITIAL_CAPACITY];
+	private int[] digitSums = new int[INITIAL_CAPACITY];
+	private int[] letterIdxs = new int[INITIAL_CAPACITY];
+	private final SlotOccupancy slots = new SlotOccupancy(INITIAL_CAPACITY);
+
+	@Override
+	public char[] generate(int length, char[] specialChars, List<String> uniqueWords) throws Exception {
+		char[] password = new char[length];
+		generateInto(length, specialChars, uniqueWords, password, 0);
+		return password;
+	}
+
+	@Override
+	public BatchResult generateBatch(List<GenerationSpec> specs) throws Exception {
+		BatchResult result = BatchResult.allocate(specs);
+		for (int i = 0; i < specs.size(); i++) {
+			GenerationSpec spec = specs.get(i);
+			generateInto(spec.getLength(), spec.getSpecialChars(), spec.getUniqueWords(), result.getBuffer(),
+					result.offset(i));
+		}
+		return result;
+	}
+
+	// Writes the password to out[offset, offset + length).
+	public void generateInto(int length, char[] specialChars, List<String> uniqueWords, char[] out, int offset)
+			throws Exception {
+		int wordsNo = uniqueWords.size();
+		ensureCapacity(wordsNo);
+		for (int i = 0; i < wordsNo; i++) {
+			digest(i, WordDigest.getSumOfAsciiCodesOfAWord(uniqueWords.get(i)));
+		}
+		generateInto(length, specialChars, asciiSums, digitSums, letterIdxs, 0, wordsNo, out, offset);
+	}
+
+	// Generates from the words of a table without turning them into Strings.
+	public void generateInto(int length, char[] specialChars, WordTable words, char[] out, int offset)
+			throws Exception {
+		generateInto(length, specialChars, words.getCharSums(), 0, words.size(), out, offset);
+	}
+
+	// Generates from precomputed char sums: charSums[from, from + length) stand for the words, one per output char.
+	public void generateInto(int length, char[] specialChars, int[] charSums, int from, char[] out, int offset)
+			throws Exception {
+		generateInto(length, specialChars, charSums, from, length, out, offset);
+	}
+
+	// Generates from precomputed digests, so no digit sum or letter is derived again: word i of the window is
+	// charSums[from + i] with digitSums[from + i] and letterIdxs[from + i], as WordDigest computes them.
+	public void generateInto(int length, char[] specialChars, int[] charSums, int[] digitSums, int[] letterIdxs,
+							 int from, char[] out, int offset) throws Exception {
+		generateInto(length, specialChars, charSums, digitSums, letterIdxs, from, length, out, offset);
+	}
+
+	// Generates from precomputed char and digit sums, e.g. of a corpus index; only the letter indexes are derived.
+	public void generateInto(int length, char[] specialChars, int[] charSums, int[] digitSums, int from, char[] out,
+							 int offset) throws Exception {
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {
+			asciiSums[i] = charSums[from + i];
+			this.digitSums[i] = digitSums[from + i];
+			letterIdxs[i] = WordDigest.calculateLetterIdx(digitSums[from + i]);
+		}
+		generateInto(length, specialChars, asciiSums, this.digitSums, letterIdxs, 0, length, out, offset);
+	}
+
+	private void generateInto(int length, char[] specialChars, int[] charSums, int from, int wordsNo, char[] out,
+							  int offset) throws Exception {
+		ensureCapacity(wordsNo);
+		for (int i = 0; i < wordsNo; i++) {
+			digest(i, charSums[from + i]);
+		}
+		generateInto(length, specialChars, asciiSums, digitSums, letterIdxs, 0, wordsNo, out, offset);
+	}
+
+	private void generateInto(int length, char[] specialChars, int[] charSums, int[] digitSums, int[] letterIdxs,
+							  int from, int wordsNo, char[] out, int offset) throws Exception {
+		long start = GenerationMetrics.start();
+		try {
+			int specialCharsWordsNo = wordsNo - specialChars.length;
+			if (specialCharsWordsNo <= 0) {
+				throw new Exception("Not enough words for " + specialChars.length + " special characters");
+			}
+			int end = offset + length;
+			Arrays.fill(out, offset, end, (char) 0);
+			fillPwdWithSpecialChars(out, offset, length, specialChars, digitSums, from + specialCharsWordsNo);
+			long phaseStart = GenerationMetrics.record(Phase.SPECIAL_CHARS, start);
+			int cursor = fillPwdWithNumbers(out, offset, end, charSums, from, specialCharsWordsNo);
+			phaseStart = GenerationMetrics.record(Phase.NUMBERS, phaseStart);
+			fillPwdWithChars(out, end, charSums, letterIdxs, from, specialCharsWordsNo, cursor);
+			GenerationMetrics.record(Phase.CHARS, phaseStart);
+			GenerationMetrics.recordGeneration(start);
+		} catch (Exception e) {
+			GenerationMetrics.recordFailure();
+			throw e;
+		}
+	}
+
+	private void ensureCapacity(int wordsNo) {
+		if (asciiSums.length < wordsNo) {
+			int capacity = Math.max(wordsNo, asciiSums.length * 2);
+			asciiSums = new int[capacity];
+			digitSums = new int[capacity];
+			letterIdxs = new int[capacity];
+		}
+	}
+
+	private void digest(int i, int charSum) {
+		asciiSums[i] = charSum;
+		digitSums[i] = WordDigest.calculateSumOfDigits(charSum);
+		letterIdxs[i] = WordDigest.calculateLetterIdx(digitSums[i]);
+	}
+
+	private void fillPwdWithSpecialChars(char[] out, int offset, int length, char[] specialChars, int[] digitSums,
+										 int firstWordIdx) {
+		slots.reset(length);
+		for (int i = 0; i < specialChars.length; i++) {
+			int idx = WordDigest.toSlot(digitSums[firstWordIdx + i], length);
+			out[offset + slots.claim(idx)] = specialChars[i];
+		}
+	}
+
+	// Returns the position right after the last number written, where the chars phase resumes.
+	private int fillPwdWithNumbers(char[] out, int offset, int end, int[] charSums, int from, int remainingWordsNo)
+			throws Exception {
+		int cursor = offset;
+		for (int i = from; i < from + remainingWordsNo; i++) {
+			if (!isWordForNumber(charSums, from, i)) {
+				continue;
+			}
+			cursor = nextEmptySlot(out, cursor, end);
+			if (cursor == end) {
+				throw new Exception("Failed to fill Password with numbers");
+			}
+			out[cursor++] = WordDigest.toNumber(charSums[i]);
+		}
+		return cursor;
+	}
+
+	private void fillPwdWithChars(char[] out, int end, int[] charSums, int[] letterIdxs, int from,
+								  int remainingWordsNo, int cursor) {
+		for (int i = from; i < from + remainingWordsNo; i++) {
+			if (isWordForNumber(charSums, from, i)) {
+				continue;
+			}
+			cursor = nextEmptySlot(out, cursor, end);
+			if (cursor == end) {
+				return;
+			}
+			out[cursor++] = WordDigest.toLetter(letterIdxs[i]);
+		}
+	}
+
+	private boolean isWordForNumber(int[] charSums, int firstWordIdx, int wordIdx) {
+		return wordIdx == firstWordIdx || WordDigest.isForNumber(charSums[wordIdx]);
+	}
+
+	private int nextEmptySlot(char[] out, int from, int end) {
+		while (from < end && out[from] != 0) {
+			from++;
+		}
+		return from;
+	}
+}
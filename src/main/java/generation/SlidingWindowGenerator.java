@@ -0,0 +1,87 @@
+package generation;
+
+import corpus.WordHandler;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ * Yields one password for every window of windowSize consecutive unique words of a corpus: words [0, n),
+ * [1, n + 1), ... Plugged into a tokenizer as its WordHandler, it keeps only the digests of the current window
+ * (char sum, digit sum and letter index) in rings, each computed once when its word arrives. Sliding drops the
+ * oldest and adds the newest in O(1), and the window is generated straight from the rings.
+ *
+ * The rings are mirrored (every digest is stored at i and i + windowSize), so the window is always one contiguous
+ * range. Passwords go to the PasswordHandler through one reused buffer. Instances must not be shared.
+ */
+public class SlidingWindowGenerator implements WordHandler {
+
+	private final int windowSize;
+	private final char[] specialChars;
+	private final PasswordHandler handler;
+	private final PrimitiveGenerator generator = new PrimitiveGenerator();
+	private final Set<String> seenWords = new HashSet<>();
+	private final int[] charSums;
+	private final int[] digitSums;
+	private final int[] letterIdxs;
+	private final char[] password;
+	private long uniqueWordsNo;
+	private long windowsNo;
+
+	public SlidingWindowGenerator(int windowSize, char[] specialChars, PasswordHandler handler) {
+		if (windowSize <= specialChars.length) {
+			throw new IllegalArgumentException("Window of " + windowSize + " words is too small for "
+					+ specialChars.length + " special characters");
+		}
+		this.windowSize = windowSize;
+		this.specialChars = specialChars;
+		this.handler = handler;
+		this.charSums = new int[windowSize * 2];
+		this.digitSums = new int[windowSize * 2];
+		this.letterIdxs = new int[windowSize * 2];
+		this.password = new char[windowSize];
+	}
+
+	@Override
+	public boolean onWord(char[] chars, int offset, int length, int charSum) {
+		if (!seenWords.add(new String(chars, offset, length))) {
+			return true;
+		}
+		return onUniqueWord(charSum);
+	}
+
+	// Entry point for sources that are already deduplicated.
+	public boolean onUniqueWord(int charSum) {
+		return onUniqueWord(charSum, WordDigest.calculateSumOfDigits(charSum));
+	}
+
+	// For sources that store the digit sum too, such as a corpus index.
+	public boolean onUniqueWord(int charSum, int digitSum) {
+		int slot = (int) (uniqueWordsNo % windowSize);
+		int letterIdx = WordDigest.calculateLetterIdx(digitSum);
+		charSums[slot] = charSums[slot + windowSize] = charSum;
+		digitSums[slot] = digitSums[slot + windowSize] = digitSum;
+		letterIdxs[slot] = letterIdxs[slot + windowSize] = letterIdx;
+		uniqueWordsNo++;
+		if (uniqueWordsNo < windowSize) {
+			return true;
+		}
+		int windowStart = (int) ((uniqueWordsNo - windowSize) % windowSize);
+		try {
+			generator.generateInto(windowSize, specialChars, charSums, digitSums, letterIdxs, windowStart, password,
+					0);
+		} catch (Exception e) {
+			throw new IllegalStateException("Failed to generate window " + windowsNo, e);
+		}
+		windowsNo++;
+		return handler.onPassword(password, 0, windowSize);
+	}
+
+	public long getWindowsNo() {
+		return windowsNo;
+	}
+
+	public long getUniqueWordsNo() {
+		return uniqueWordsNo;
+	}
+}
@@ -0,0 +1,35 @@
+package generation;
+
+import java.util.BitSet;
+
+/*
+ * Password slots taken by special chars. A special char goes to its preferred slot or, when that is taken,
+ * to the next free one, wrapping around to the start of the password.
+ */
+class SlotOccupancy {
+
+	private final BitSet occupied;
+	private int length;
+
+	SlotOccupancy(int length) {
+		this.occupied = new BitSet(length);
+		this.length = length;
+	}
+
+	void reset(int length) {
+		this.occupied.clear();
+		this.length = length;
+	}
+
+	int claim(int preferredSlot) {
+		int slot = occupied.nextClearBit(preferredSlot);
+		if (slot >= length) {
+			slot = occupied.nextClearBit(0);
+			if (slot >= length) {
+				throw new IllegalStateException("No free slot left in a password of length " + length);
+			}
+		}
+		occupied.set(slot);
+		return slot;
+	}
+}
@@ -0,0 +1,101 @@
+package generation;
+
+/*
+ * Everything the generators derive from a word, computed once from the sum of its char codes:
+ * - charSum: picks the words used for numbers (charSum % 7 == 0) and the number itself (charSum % 10)
+ * - digitSum: sum of the digits of charSum, the preferred slot of a special char
+ * - letterIdx: digitSum folded again until it fits in a..z, the letter a word stands for
+ */
+public class WordDigest {
+
+	private final static int LAST_CHAR_IDX = 26; // a: 1 z: 26
+	private final static int CONVERT_TO_ASCII = 96; // a: 1 + 96 z: 26 + 96 ASCII codes
+
+	private final int charSum;
+	private final int digitSum;
+	private final int letterIdx;
+
+	private WordDigest(int charSum) {
+		this.charSum = charSum;
+		this.digitSum = calculateSumOfDigits(charSum);
+		this.letterIdx = calculateLetterIdx(digitSum);
+	}
+
+	public static WordDigest of(String word) {
+		return new WordDigest(getSumOfAsciiCodesOfAWord(word));
+	}
+
+	public static WordDigest ofCharSum(int charSum) {
+		return new WordDigest(charSum);
+	}
+
+	public int getCharSum() {
+		return charSum;
+	}
+
+	public int getDigitSum() {
+		return digitSum;
+	}
+
+	public int getLetterIdx() {
+		return letterIdx;
+	}
+
+	public boolean isForNumber() {
+		return isForNumber(charSum);
+	}
+
+	public char toNumber() {
+		return toNumber(charSum);
+	}
+
+	public char toLetter() {
+		return toLetter(letterIdx);
+	}
+
+	public int toSlot(int passwordLength) {
+		return toSlot(digitSum, passwordLength);
+	}
+
+	static boolean isForNumber(int charSum) {
+		return charSum % 7 == 0;
+	}
+
+	static char toNumber(int charSum) {
+		return (char) (charSum % 10 + '0');
+	}
+
+	static char toLetter(int letterIdx) {
+		int num = letterIdx + CONVERT_TO_ASCII;
+		return num % 2 == 0 ? (char) num : Character.toUpperCase((char) num);
+	}
+
+	static int toSlot(int digitSum, int passwordLength) {
+		return digitSum >= passwordLength ? (digitSum % passwordLength) : digitSum;
+	}
+
+	static int calculateLetterIdx(int digitSum) {
+		int num = digitSum;
+		while (num > LAST_CHAR_IDX) {
+			num = calculateSumOfDigits(num);
+		}
+		return num;
+	}
+
+	static int getSumOfAsciiCodesOfAWord(String word) {
+		int sum = 0;
+		for (int i = 0; i < word.length(); i++) {
+			sum += word.charAt(i);
+		}
+		return sum;
+	}
+
+	static int calculateSumOfDigits(int number) {
+		int sum = 0;
+		while (number != 0) {
+			sum += number % 10;
+			number = number / 10;
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,38 @@
+package hashing;
+
+/*
+ * 64-bit hashes of chars and ints. Two seeds give two independent hashes, together a 128-bit fingerprint, which is
+ * what the uniqueness sets and the generation cache key on. A hash starts from a seed, takes one step per value and
+ * ends with mix; hash() does all three for a char range.
+ */
+public final class Fingerprints {
+
+	public static final long SEED_1 = 0x9E3779B97F4A7C15L;
+	public static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+	private static final long MULTIPLIER = 0x87C37B91114253D5L;
+
+	private Fingerprints() {
+	}
+
+	public static long hash(char[] chars, int offset, int length, long seed) {
+		long hash = seed ^ length;
+		for (int i = offset; i < offset + length; i++) {
+			hash = step(hash, chars[i]);
+		}
+		return mix(hash);
+	}
+
+	public static long step(long hash, int value) {
+		return Long.rotateLeft(hash ^ (value * MULTIPLIER), 31) * 5 + 0x52DCE729;
+	}
+
+	// Murmur3's finalizer, so every input bit reaches every output bit.
+	public static long mix(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		hash *= 0xC4CEB9FE1A85EC53L;
+		return hash ^ (hash >>> 33);
+	}
+}
@@ -0,0 +1,46 @@
+package index;
+
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+/*
+ * Command line entry point that precompiles corpora into a CorpusIndex, deduplicated across all of them.
+ *
+ * Usage: java -cp <jar> index.BuildIndex <index file> <corpus file or directory | ->...
+ */
+public class BuildIndex {
+
+	private static final String USAGE = "Usage: index.BuildIndex <index file> <corpus file or directory | ->...";
+	private static final String STDIN = "-";
+	private static final int EXIT_FAILURE = 1;
+	private static final int EXIT_USAGE = 2;
+
+	public static void main(String[] args) {
+		System.exit(run(args, System.out, System.err));
+	}
+
+	static int run(String[] args, PrintStream out, PrintStream err) {
+		if (args.length < 2) {
+			err.println(USAGE);
+			return EXIT_USAGE;
+		}
+		try {
+			CorpusIndex.Builder builder = new CorpusIndex.Builder();
+			for (int i = 1; i < args.length; i++) {
+				if (STDIN.equals(args[i])) {
+					builder.addCorpus(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+				} else {
+					builder.addCorpus(Paths.get(args[i]));
+				}
+			}
+			builder.write(Paths.get(args[0]));
+			out.println(builder.size() + " unique words written to " + args[0]);
+			return 0;
+		} catch (Exception e) {
+			e.printStackTrace(err);
+			return EXIT_FAILURE;
+		}
+	}
+}
@@ -0,0 +1,239 @@
+package index;
+
+import corpus.StreamingTokenizer;
+import corpus.WordSource;
+import corpus.WordTable;
+import generation.WordDigest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Precompiled corpus: the unique qualifying words in order of first occurrence, with their char and digit sums,
+ * memory-mapped so a run starts from the digests without reading or tokenizing the text. Layout, big-endian:
+ *
+ *   int magic, int version, int wordsNo, int charsNo
+ *   int[wordsNo + 1] offsets   word i is chars[offsets[i], offsets[i + 1])
+ *   int[wordsNo] charSums
+ *   int[wordsNo] digitSums
+ *   char[charsNo] chars
+ *
+ * Only absolute reads are used on the mapping, so an open index is safe to share between threads.
+ */
+public class CorpusIndex {
+
+	public static final int MAGIC = 0x50574349; // "PWCI"
+	public static final int VERSION = 3;
+	private static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+	private final Path file;
+	private final int wordsNo;
+	private final IntBuffer offsets;
+	private final IntBuffer charSums;
+	private final IntBuffer digitSums;
+	private final CharBuffer chars;
+
+	private CorpusIndex(Path file, ByteBuffer mapped) throws IOException {
+		this.file = file;
+		if (mapped.capacity() < HEADER_BYTES || mapped.getInt(0) != MAGIC) {
+			throw new IOException("Not a corpus index: " + file);
+		}
+		if (mapped.getInt(4) != VERSION) {
+			throw new IOException("Unsupported corpus index version " + mapped.getInt(4) + ": " + file);
+		}
+		this.wordsNo = mapped.getInt(8);
+		int charsNo = mapped.getInt(12);
+		if (wordsNo < 0 || charsNo < 0 || mapped.capacity() != sizeOf(wordsNo, charsNo)) {
+			throw new IOException("Truncated or corrupt corpus index: " + file);
+		}
+		int position = HEADER_BYTES;
+		this.offsets = slice(mapped, position, (wordsNo + 1) * Integer.BYTES).asIntBuffer();
+		position += (wordsNo + 1) * Integer.BYTES;
+		this.charSums = slice(mapped, position, wordsNo * Integer.BYTES).asIntBuffer();
+		position += wordsNo * Integer.BYTES;
+		this.digitSums = slice(mapped, position, wordsNo * Integer.BYTES).asIntBuffer();
+		position += wordsNo * Integer.BYTES;
+		this.chars = slice(mapped, position, charsNo * Character.BYTES).asCharBuffer();
+	}
+
+	public static CorpusIndex open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Corpus index too large: " + file);
+			}
+			return new CorpusIndex(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	// Tells an index from a text corpus by its header: the magic number, this version, and counts that match the
+	// file size, so a text that happens to start with "PWCI" is still read as text.
+	public static boolean isIndex(Path file) throws IOException {
+		if (!Files.isRegularFile(file)) {
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+			while (header.hasRemaining()) {
+				if (channel.read(header) == -1) {
+					return false;
+				}
+			}
+			int wordsNo = header.getInt(8);
+			int charsNo = header.getInt(12);
+			return header.getInt(0) == MAGIC && header.getInt(4) == VERSION && wordsNo >= 0 && charsNo >= 0
+					&& channel.size() == sizeOf(wordsNo, charsNo);
+		}
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	public int size() {
+		return wordsNo;
+	}
+
+	public int length(int index) {
+		checkIndex(index);
+		return offsets.get(index + 1) - offsets.get(index);
+	}
+
+	public int charSum(int index) {
+		checkIndex(index);
+		return charSums.get(index);
+	}
+
+	public int digitSum(int index) {
+		checkIndex(index);
+		return digitSums.get(index);
+	}
+
+	public String word(int index) {
+		checkIndex(index);
+		int start = offsets.get(index);
+		char[] word = new char[offsets.get(index + 1) - start];
+		for (int i = 0; i < word.length; i++) {
+			word[i] = chars.get(start + i);
+		}
+		return new String(word);
+	}
+
+	// Char sums of words [from, from + count), ready for PrimitiveGenerator.generateInto.
+	public int[] charSums(int from, int count) {
+		return range(charSums, from, count);
+	}
+
+	// Digit sums of words [from, from + count), indexed like charSums.
+	public int[] digitSums(int from, int count) {
+		return range(digitSums, from, count);
+	}
+
+	public List<String> words(int from, int count) {
+		checkRange(from, count);
+		List<String> words = new ArrayList<>(count);
+		for (int i = from; i < from + count; i++) {
+			words.add(word(i));
+		}
+		return words;
+	}
+
+	private int[] range(IntBuffer column, int from, int count) {
+		checkRange(from, count);
+		int[] values = new int[count];
+		IntBuffer range = column.duplicate();
+		range.position(from);
+		range.get(values);
+		return values;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= wordsNo) {
+			throw new IndexOutOfBoundsException("Word " + index + " of " + wordsNo);
+		}
+	}
+
+	private void checkRange(int from, int count) {
+		if (from < 0 || count < 0 || from > wordsNo - count) {
+			throw new IndexOutOfBoundsException("Words [" + from + ", " + from + " + " + count + ") of " + wordsNo);
+		}
+	}
+
+	private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+		ByteBuffer slice = buffer.duplicate();
+		slice.position(position);
+		slice.limit(position + length);
+		return slice.slice();
+	}
+
+	private static long sizeOf(long wordsNo, long charsNo) {
+		return HEADER_BYTES + (wordsNo + 1 + 2 * wordsNo) * Integer.BYTES + charsNo * Character.BYTES;
+	}
+
+	/*
+	 * Collects the unique words of one or more corpora, deduplicated across all of them in order of first
+	 * occurrence, and writes them as an index.
+	 */
+	public static class Builder {
+
+		private final WordTable words = new WordTable();
+
+		public Builder() {
+		}
+
+		// A file, or a directory read as all files under it.
+		public Builder addCorpus(Path path) throws IOException {
+			WordSource.of(path).forEachWord(words);
+			return this;
+		}
+
+		public Builder addCorpus(Reader reader) throws IOException {
+			new StreamingTokenizer().tokenize(reader, words);
+			return this;
+		}
+
+		public Builder addCorpus(String text) {
+			new StreamingTokenizer().tokenize(text, words);
+			return this;
+		}
+
+		public int size() {
+			return words.size();
+		}
+
+		public void write(Path file) throws IOException {
+			int wordsNo = words.size();
+			int charsNo = wordsNo == 0 ? 0 : words.offset(wordsNo - 1) + words.length(wordsNo - 1);
+			long size = sizeOf(wordsNo, charsNo);
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("Corpus index of " + size + " bytes is too large");
+			}
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+				out.putInt(MAGIC).putInt(VERSION).putInt(wordsNo).putInt(charsNo);
+				for (int i = 0; i < wordsNo; i++) {
+					out.putInt(words.offset(i));
+				}
+				out.putInt(charsNo);
+				for (int i = 0; i < wordsNo; i++) {
+					out.putInt(words.charSum(i));
+				}
+				for (int i = 0; i < wordsNo; i++) {
+					out.putInt(WordDigest.ofCharSum(words.charSum(i)).getDigitSum());
+				}
+				out.asCharBuffer().put(words.getArena(), 0, charsNo);
+				out.force();
+			}
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package metrics;
+
+// JMX view of GenerationMetrics; latencies in the phase summaries are in nanoseconds.
+public interface GenerationMetricsMBean {
+
+	boolean isEnabled();
+
+	long getGenerations();
+
+	long getFailures();
+
+	long getWordsScanned();
+
+	double getThroughput();
+
+	String[] getPhaseSummaries();
+
+	void reset();
+}
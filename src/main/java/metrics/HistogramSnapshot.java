@@ -0,0 +1,74 @@
+package metrics;
+
+/*
+ * Immutable copy of a LatencyHistogram. Percentiles are reported as the highest value of their bucket, capped at
+ * the recorded max, so they never understate. Snapshots of histograms of the same precision can be added, so
+ * threads may each record into their own histogram and be reported together.
+ */
+public class HistogramSnapshot {
+
+	private final int subBucketBits;
+	private final long[] counts;
+	private final long count;
+	private final long sum;
+	private final long max;
+
+	HistogramSnapshot(int subBucketBits, long[] counts, long sum, long max) {
+		this.subBucketBits = subBucketBits;
+		this.counts = counts;
+		long total = 0;
+		for (long bucketCount : counts) {
+			total += bucketCount;
+		}
+		this.count = total;
+		this.sum = sum;
+		this.max = max;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getMean() {
+		return count == 0 ? 0 : (double) sum / count;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	// The value at or below which the given percentage, 0 to 100, of the recorded values fall.
+	public long getValueAtPercentile(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(LatencyHistogram.highestValueOf(i, subBucketBits), max);
+			}
+		}
+		return max;
+	}
+
+	public HistogramSnapshot plus(HistogramSnapshot other) {
+		if (other.subBucketBits != subBucketBits) {
+			throw new IllegalArgumentException("Histograms of " + subBucketBits + " and " + other.subBucketBits
+					+ " sub-bucket bits cannot be added");
+		}
+		long[] sums = new long[counts.length];
+		for (int i = 0; i < sums.length; i++) {
+			sums[i] = counts[i] + other.counts[i];
+		}
+		return new HistogramSnapshot(subBucketBits, sums, sum + other.sum, Math.max(max, other.max));
+	}
+
+	@Override
+	public String toString() {
+		return String.format("count %d, mean %.0f, p50 %d, p90 %d, p99 %d, p99.9 %d, max %d", count, getMean(),
+				getValueAtPercentile(50), getValueAtPercentile(90), getValueAtPercentile(99),
+				getValueAtPercentile(99.9), max);
+	}
+}
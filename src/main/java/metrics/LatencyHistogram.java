@@ -0,0 +1,93 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Log-linear histogram of non-negative values such as latencies in nanoseconds: every power of two is split into
+ * 2^subBucketBits buckets, so any recorded value is reported within 2^-subBucketBits of itself over the whole long
+ * range. The default of 3 bits, 12.5%, takes 4 KB of counters; 7 bits, under 1% as a load test wants, take 57 KB.
+ * Recording is lock-free (one atomic increment per bucket, adders for count and sum, CAS for the max), so any number
+ * of threads can record concurrently. Snapshots taken meanwhile may be off by the values in flight.
+ */
+public class LatencyHistogram {
+
+	public static final int DEFAULT_SUB_BUCKET_BITS = 3;
+	public static final int MAX_SUB_BUCKET_BITS = 10;
+
+	private final int subBucketBits;
+	private final AtomicLongArray counts;
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	public LatencyHistogram() {
+		this(DEFAULT_SUB_BUCKET_BITS);
+	}
+
+	public LatencyHistogram(int subBucketBits) {
+		if (subBucketBits < 1 || subBucketBits > MAX_SUB_BUCKET_BITS) {
+			throw new IllegalArgumentException("Sub-bucket bits must be from 1 to " + MAX_SUB_BUCKET_BITS);
+		}
+		this.subBucketBits = subBucketBits;
+		this.counts = new AtomicLongArray(bucketsNo(subBucketBits));
+	}
+
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		counts.incrementAndGet(bucketOf(value, subBucketBits));
+		sum.add(value);
+		long currentMax = max.get();
+		while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+			currentMax = max.get();
+		}
+	}
+
+	public HistogramSnapshot snapshot() {
+		long[] snapshot = new long[counts.length()];
+		for (int i = 0; i < snapshot.length; i++) {
+			snapshot[i] = counts.get(i);
+		}
+		return new HistogramSnapshot(subBucketBits, snapshot, sum.sum(), max.get());
+	}
+
+	public void reset() {
+		for (int i = 0; i < counts.length(); i++) {
+			counts.set(i, 0);
+		}
+		sum.reset();
+		max.set(0);
+	}
+
+	// Non-negative longs have their top bit at 62 at most.
+	static int bucketsNo(int subBucketBits) {
+		return (Long.SIZE - subBucketBits) << subBucketBits;
+	}
+
+	// Values below 2^subBucketBits get a bucket each; above, the top bit picks the power of two and the next
+	// subBucketBits the bucket within it.
+	static int bucketOf(long value, int subBucketBits) {
+		int subBuckets = 1 << subBucketBits;
+		if (value < subBuckets) {
+			return (int) value;
+		}
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) ((value >>> (exponent - subBucketBits)) & (subBuckets - 1));
+		return ((exponent - subBucketBits + 1) << subBucketBits) + subBucket;
+	}
+
+	static long lowestValueOf(int bucket, int subBucketBits) {
+		int subBuckets = 1 << subBucketBits;
+		if (bucket < subBuckets) {
+			return bucket;
+		}
+		int exponent = (bucket >>> subBucketBits) + subBucketBits - 1;
+		return (long) (subBuckets + (bucket & (subBuckets - 1))) << (exponent - subBucketBits);
+	}
+
+	static long highestValueOf(int bucket, int subBucketBits) {
+		return bucket == bucketsNo(subBucketBits) - 1 ? Long.MAX_VALUE : lowestValueOf(bucket + 1, subBucketBits) - 1;
+	}
+}
@@ -0,0 +1,65 @@
+package metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Point-in-time copy of all GenerationMetrics.
+public class MetricsSnapshot {
+
+	private final long generations;
+	private final long failures;
+	private final long wordsScanned;
+	private final long elapsedNanos;
+	private final Map<Phase, HistogramSnapshot> phases;
+
+	MetricsSnapshot(long generations, long failures, long wordsScanned, long elapsedNanos,
+					EnumMap<Phase, HistogramSnapshot> phases) {
+		this.generations = generations;
+		this.failures = failures;
+		this.wordsScanned = wordsScanned;
+		this.elapsedNanos = elapsedNanos;
+		this.phases = Collections.unmodifiableMap(phases);
+	}
+
+	public long getGenerations() {
+		return generations;
+	}
+
+	public long getFailures() {
+		return failures;
+	}
+
+	public long getWordsScanned() {
+		return wordsScanned;
+	}
+
+	// Since the metrics were created or last reset.
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	// Successful generations per second over the elapsed time.
+	public double getThroughput() {
+		return elapsedNanos == 0 ? 0 : generations * 1e9 / elapsedNanos;
+	}
+
+	public HistogramSnapshot getPhase(Phase phase) {
+		return phases.get(phase);
+	}
+
+	public Map<Phase, HistogramSnapshot> getPhases() {
+		return phases;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder summary = new StringBuilder(String.format(
+				"generations %d, failures %d, words scanned %d, %.0f generations/s", generations, failures,
+				wordsScanned, getThroughput()));
+		for (Map.Entry<Phase, HistogramSnapshot> phase : phases.entrySet()) {
+			summary.append('\n').append(phase.getKey()).append(" ns: ").append(phase.getValue());
+		}
+		return summary.toString();
+	}
+}
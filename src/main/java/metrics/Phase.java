@@ -0,0 +1,12 @@
+package metrics;
+
+// The steps from text to password that are timed when metrics are enabled.
+public enum Phase {
+	TOKENIZE,
+	VALIDATE,
+	SPLIT_WORDS,
+	SPECIAL_CHARS,
+	NUMBERS,
+	CHARS,
+	GENERATE
+}
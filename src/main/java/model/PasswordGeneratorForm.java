@@ -1,5 +1,6 @@
 package model;
 
+import corpus.WordExtractor;
 import exceptions.InvalidPasswordLengthException;
 import exceptions.InvalidSpecialCharsSizeException;
 import exceptions.NotAdequateValidWordsException;
@@ -7,13 +8,12 @@ import javafx.collections.ObservableList;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextArea;
+import metrics.GenerationMetrics;
+import metrics.Phase;
 import org.controlsfx.control.CheckComboBox;
 
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.BooleanSupplier;
 
 public class PasswordGeneratorForm {
 
@@ -21,51 +21,36 @@ public class PasswordGeneratorForm {
 	private ComboBox<? extends Integer> passwordLength;
 	private CheckComboBox<? extends String> specialChars;
 	private TextArea textArea;
-	private List<String> uniqueWords = new ArrayList<>();
 
-	private static final String SPACE_SEPARATOR = " ";
-	public static final Integer MIN_PASSWORD_LENGTH = 8;
-	public static final Integer MAX_PASSWORD_LENGTH = 20;
-	public static final Integer MIN_WORD_LENGTH = 5;
-	public static final Integer MIN_SPECIAL_CHARS_SIZE = 3;
+	public static final Integer MIN_PASSWORD_LENGTH = PasswordPolicy.MIN_PASSWORD_LENGTH;
+	// The form has no long mode: its text area holds 1000 chars, too few for the unique words a long password needs,
+	// so long passwords stay with the headless --long option and the server's long=true.
+	public static final Integer MAX_PASSWORD_LENGTH = PasswordPolicy.MAX_PASSWORD_LENGTH;
+	public static final Integer MIN_WORD_LENGTH = PasswordPolicy.MIN_WORD_LENGTH;
+	public static final Integer MIN_SPECIAL_CHARS_SIZE = PasswordPolicy.MIN_SPECIAL_CHARS_SIZE;
 
 	private PasswordGeneratorForm() {
 	}
 
-	private void setUniqueWords(String text) {
-		this.uniqueWords = Arrays.stream(text.split(SPACE_SEPARATOR))
-				.filter(w -> StandardCharsets.US_ASCII.newEncoder().canEncode(w) && w.length() >= MIN_WORD_LENGTH)
-				.distinct()
-				.collect(Collectors.toList());
-	}
-
-	public List<String> getUniqueWords(int passwordLength) {
-		return this.uniqueWords.stream().limit(passwordLength).collect(Collectors.toList());
-	}
-
 	public void validatePasswordLength() throws InvalidPasswordLengthException {
-		if (passwordLength.getValue() == null || passwordLength.getValue() < MIN_PASSWORD_LENGTH ||
-				passwordLength.getValue() > MAX_PASSWORD_LENGTH) {
-			throw new InvalidPasswordLengthException("Password length must be from " + MIN_PASSWORD_LENGTH + " to "
-					+ MAX_PASSWORD_LENGTH);
-		}
+		PasswordPolicy.validatePasswordLength(passwordLength.getValue());
 	}
 
 	public void validateSpecialChars() throws InvalidSpecialCharsSizeException {
 		ObservableList<String> list = (ObservableList<String>) specialChars.getCheckModel().getCheckedItems();
-		if (specialChars == null || list == null || list.size() < MIN_SPECIAL_CHARS_SIZE ||
-				list.size() > passwordLength.getValue() - 4) {
-			throw new InvalidSpecialCharsSizeException("Special characters must be at least " + MIN_SPECIAL_CHARS_SIZE
-					+ " and maximum " + (passwordLength.getValue() - 4));
-		}
+		PasswordPolicy.validateSpecialChars(specialChars == null || list == null ? 0 : list.size(),
+				passwordLength.getValue());
 	}
 
-	public void validateTextArea() throws NotAdequateValidWordsException {
-		this.setUniqueWords(textArea.getText());
-		if (uniqueWords.size() < passwordLength.getValue()) {
-			throw new NotAdequateValidWordsException("Less than " + passwordLength.getValue() +
-					" valid US_ASCII words found in text area.");
-		};
+	// Touches no control, so it can run off the JavaFX Application Thread on a snapshot of the text area.
+	public List<String> validateText(String text, int passwordLength, BooleanSupplier stopped)
+			throws NotAdequateValidWordsException {
+		long start = GenerationMetrics.start();
+		List<String> words = WordExtractor.uniqueWords(text, passwordLength, stopped);
+		long validateStart = GenerationMetrics.record(Phase.TOKENIZE, start);
+		PasswordPolicy.validateUniqueWords(words.size(), passwordLength, "text area");
+		GenerationMetrics.record(Phase.VALIDATE, validateStart);
+		return words;
 	}
 
 	public PasswordField getPasswordField() {
@@ -0,0 +1,77 @@
+package model;
+
+import corpus.WordExtractor;
+import exceptions.InvalidPasswordLengthException;
+import exceptions.InvalidSpecialCharsSizeException;
+import exceptions.NotAdequateValidWordsException;
+
+public class PasswordPolicy {
+
+	public static final int MIN_PASSWORD_LENGTH = 8;
+	public static final int MAX_PASSWORD_LENGTH = 20;
+	public static final int MAX_LONG_PASSWORD_LENGTH = 65536;
+	public static final int MIN_WORD_LENGTH = WordExtractor.MIN_WORD_LENGTH;
+	public static final int MIN_SPECIAL_CHARS_SIZE = 3;
+	private static final int NON_SPECIAL_CHARS_SIZE = 4;
+	private static final String SPECIAL_CHARS_SEPARATOR = ",";
+
+	private PasswordPolicy() {
+	}
+
+	public static void validatePasswordLength(Integer length) throws InvalidPasswordLengthException {
+		if (length == null || length < MIN_PASSWORD_LENGTH || length > MAX_PASSWORD_LENGTH) {
+			throw new InvalidPasswordLengthException("Password length must be from " + MIN_PASSWORD_LENGTH + " to "
+					+ MAX_PASSWORD_LENGTH);
+		}
+	}
+
+	public static void validateLongPasswordLength(Integer length) throws InvalidPasswordLengthException {
+		if (length == null || length < MIN_PASSWORD_LENGTH || length > MAX_LONG_PASSWORD_LENGTH) {
+			throw new InvalidPasswordLengthException("Long password length must be from " + MIN_PASSWORD_LENGTH
+					+ " to " + MAX_LONG_PASSWORD_LENGTH);
+		}
+	}
+
+	public static void validateSpecialChars(int specialCharsSize, int length) throws InvalidSpecialCharsSizeException {
+		if (specialCharsSize < MIN_SPECIAL_CHARS_SIZE || specialCharsSize > length - NON_SPECIAL_CHARS_SIZE) {
+			throw new InvalidSpecialCharsSizeException("Special characters must be at least " + MIN_SPECIAL_CHARS_SIZE
+					+ " and maximum " + (length - NON_SPECIAL_CHARS_SIZE));
+		}
+	}
+
+	public static void validateUniqueWords(int uniqueWordsSize, int length, String source)
+			throws NotAdequateValidWordsException {
+		if (uniqueWordsSize < length) {
+			throw new NotAdequateValidWordsException("Less than " + length +
+					" valid US_ASCII words found in " + source + ".");
+		}
+	}
+
+	// Parses a length given as text, on the command line or in a request. The range is checked by validation.
+	public static int parseLength(String text) {
+		try {
+			return Integer.parseInt(text.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Password length must be a number: " + text);
+		}
+	}
+
+	// Parses comma-separated single special characters without duplicates. The count is checked by validation.
+	public static char[] parseSpecialChars(String text) {
+		String[] tokens = text.split(SPECIAL_CHARS_SEPARATOR);
+		char[] specialChars = new char[tokens.length];
+		for (int i = 0; i < tokens.length; i++) {
+			String token = tokens[i].trim();
+			if (token.length() != 1) {
+				throw new IllegalArgumentException("Special characters must be single characters: " + text);
+			}
+			specialChars[i] = token.charAt(0);
+			for (int j = 0; j < i; j++) {
+				if (specialChars[j] == specialChars[i]) {
+					throw new IllegalArgumentException("Special characters must not contain duplicates: " + text);
+				}
+			}
+		}
+		return specialChars;
+	}
+}
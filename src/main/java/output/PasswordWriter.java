@@ -0,0 +1,219 @@
+package output;
+
+import generation.PasswordHandler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Bulk sink for generated passwords: each one is encoded straight from the generator's char[] into a reused direct
+ * ByteBuffer, which goes to a FileChannel whenever the flush threshold is reached. No String is created.
+ *
+ * Records are either newline-terminated, or fixed-width with no separator, padded on the right, so record i starts
+ * at byte i * width. Passwords are written as UTF-8; fixed-width records must be ASCII to stay fixed in bytes.
+ * Usable directly as the PasswordHandler of a generator or pipeline, where I/O failures surface as
+ * UncheckedIOException. Not safe to share between threads.
+ */
+public class PasswordWriter implements PasswordHandler, Closeable {
+
+	private enum Layout {
+		NEWLINE,
+		FIXED_WIDTH
+	}
+
+	private static final int DEFAULT_FLUSH_THRESHOLD = 1 << 20;
+	private static final byte NEWLINE = '\n';
+	private static final char LAST_ASCII = 0x7F;
+
+	private final FileChannel channel;
+	private final Layout layout;
+	private final int width;
+	private final byte padding;
+	private final ByteBuffer buffer;
+	private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+	private long passwordsNo;
+	private long bytesWritten;
+
+	private PasswordWriter(Builder builder) throws IOException {
+		this.layout = builder.layout;
+		this.width = builder.width;
+		this.padding = (byte) builder.padding;
+		this.buffer = ByteBuffer.allocateDirect(builder.flushThreshold);
+		this.channel = builder.append
+				? FileChannel.open(builder.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND)
+				: FileChannel.open(builder.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	@Override
+	public boolean onPassword(char[] chars, int offset, int length) {
+		try {
+			write(chars, offset, length);
+			return true;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public void write(char[] chars, int offset, int length) throws IOException {
+		if (layout == Layout.FIXED_WIDTH) {
+			if (length > width) {
+				throw new IllegalArgumentException("Password of " + length + " chars exceeds records of " + width);
+			}
+			// Checked before anything is buffered, so a rejected password leaves no partial record behind.
+			if (!isAscii(chars, offset, length)) {
+				throw new IllegalArgumentException("Fixed-width records must be ASCII");
+			}
+			putAscii(chars, offset, length);
+			for (int i = length; i < width; i++) {
+				put(padding);
+			}
+		} else {
+			if (isAscii(chars, offset, length)) {
+				putAscii(chars, offset, length);
+			} else {
+				putEncoded(chars, offset, length);
+			}
+			put(NEWLINE);
+		}
+		passwordsNo++;
+	}
+
+	// Writes out what is buffered so far.
+	public void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			bytesWritten += channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+
+	public long getPasswordsNo() {
+		return passwordsNo;
+	}
+
+	// Bytes handed to the channel; buffered bytes count once flushed.
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	private void putAscii(char[] chars, int offset, int length) throws IOException {
+		int end = offset + length;
+		while (offset < end) {
+			if (!buffer.hasRemaining()) {
+				flush();
+			}
+			int stop = Math.min(end, offset + buffer.remaining());
+			for (int i = offset; i < stop; i++) {
+				buffer.put((byte) chars[i]);
+			}
+			offset = stop;
+		}
+	}
+
+	private void putEncoded(char[] chars, int offset, int length) throws IOException {
+		CharBuffer in = CharBuffer.wrap(chars, offset, length);
+		encoder.reset();
+		CoderResult result;
+		do {
+			result = encoder.encode(in, buffer, true);
+			if (result.isOverflow()) {
+				flush();
+			} else if (result.isError()) {
+				result.throwException();
+			}
+		} while (!result.isUnderflow());
+		while (encoder.flush(buffer).isOverflow()) {
+			flush();
+		}
+	}
+
+	private void put(byte b) throws IOException {
+		if (!buffer.hasRemaining()) {
+			flush();
+		}
+		buffer.put(b);
+	}
+
+	private static boolean isAscii(char[] chars, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			if (chars[i] > LAST_ASCII) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static class Builder {
+
+		private Path file;
+		private Layout layout = Layout.NEWLINE;
+		private int width;
+		private char padding = ' ';
+		private int flushThreshold = DEFAULT_FLUSH_THRESHOLD;
+		private boolean append;
+
+		public Builder() {
+		}
+
+		public Builder withFile(Path file) {
+			this.file = file;
+			return this;
+		}
+
+		public Builder withNewlineRecords() {
+			this.layout = Layout.NEWLINE;
+			return this;
+		}
+
+		public Builder withFixedWidthRecords(int width, char padding) {
+			this.layout = Layout.FIXED_WIDTH;
+			this.width = width;
+			this.padding = padding;
+			return this;
+		}
+
+		// Bytes buffered before they are written to the channel, which is also the size of the direct buffer.
+		public Builder withFlushThreshold(int flushThreshold) {
+			this.flushThreshold = flushThreshold;
+			return this;
+		}
+
+		public Builder withAppend(boolean append) {
+			this.append = append;
+			return this;
+		}
+
+		public PasswordWriter build() throws IOException {
+			if (file == null) {
+				throw new IllegalStateException("Output file is required");
+			}
+			if (flushThreshold <= 0) {
+				throw new IllegalArgumentException("Flush threshold must be positive: " + flushThreshold);
+			}
+			if (layout == Layout.FIXED_WIDTH && (width <= 0 || padding > LAST_ASCII)) {
+				throw new IllegalArgumentException("Fixed-width records need a positive width and ASCII padding");
+			}
+			return new PasswordWriter(this);
+		}
+	}
+}
@@ -0,0 +1,438 @@
+package pipeline;
+
+import corpus.StreamingTokenizer;
+import corpus.WordHandler;
+import corpus.WordTable;
+import generation.PasswordHandler;
+import generation.SlidingWindowGenerator;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Corpus to passwords as five concurrent stages, one thread each, connected by bounded queues:
+ *
+ *   read (chars) -> tokenize (words) -> deduplicate (unique words) -> generate (passwords) -> write (passwords)
+ *
+ * A full queue blocks its producer, so a slow stage throttles everything upstream of it and the queues stay
+ * bounded. The deduplicate stage does not: its WordTable keeps every unique word, so it grows with the vocabulary of
+ * the corpus, though not with its size. Items travel in chunks and batches to keep the queue hand-offs cheap. Every password of every window of
+ * windowSize consecutive unique words reaches the sink in corpus order; the sink returning false stops the run.
+ * An instance runs once.
+ *
+ * For use from code only: HeadlessMain --windows runs the same stages on one thread, which for a single corpus is
+ * fast enough, so no command line option starts a pipeline.
+ */
+public class GenerationPipeline {
+
+	private static final int DEFAULT_QUEUE_CAPACITY = 16;
+	private static final int DEFAULT_BATCH_SIZE = 1024;
+
+	private final int windowSize;
+	private final char[] specialChars;
+	private final PasswordHandler sink;
+	private final int chunkSize;
+	private final int batchSize;
+
+	private final BlockingQueue<Chunk> freeChunks;
+	private final BlockingQueue<Chunk> chunks;
+	private final BlockingQueue<WordBatch> words;
+	private final BlockingQueue<SumBatch> uniqueWords;
+	private final BlockingQueue<PasswordBatch> passwords;
+	private final StageMetrics readMetrics;
+	private final StageMetrics tokenizeMetrics;
+	private final StageMetrics deduplicateMetrics;
+	private final StageMetrics generateMetrics;
+	private final StageMetrics writeMetrics;
+
+	private final AtomicBoolean started = new AtomicBoolean();
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+	private final List<Thread> threads = new ArrayList<>();
+	private volatile boolean stopped;
+
+	private GenerationPipeline(Builder builder) {
+		this.windowSize = builder.windowSize;
+		this.specialChars = builder.specialChars;
+		this.sink = builder.sink;
+		this.chunkSize = builder.chunkSize;
+		this.batchSize = builder.batchSize;
+		this.freeChunks = new ArrayBlockingQueue<>(builder.queueCapacity + 2);
+		this.chunks = new ArrayBlockingQueue<>(builder.queueCapacity);
+		this.words = new ArrayBlockingQueue<>(builder.queueCapacity);
+		this.uniqueWords = new ArrayBlockingQueue<>(builder.queueCapacity);
+		this.passwords = new ArrayBlockingQueue<>(builder.queueCapacity);
+		this.readMetrics = new StageMetrics("read", null);
+		this.tokenizeMetrics = new StageMetrics("tokenize", chunks);
+		this.deduplicateMetrics = new StageMetrics("deduplicate", words);
+		this.generateMetrics = new StageMetrics("generate", uniqueWords);
+		this.writeMetrics = new StageMetrics("write", passwords);
+	}
+
+	public void run(Path file) throws Exception {
+		try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+			run(reader);
+		}
+	}
+
+	public void run(Reader reader) throws Exception {
+		if (!started.compareAndSet(false, true)) {
+			throw new IllegalStateException("A pipeline runs only once");
+		}
+		// Chunks are recycled: enough for a full queue plus the one being read and the one being tokenized.
+		while (freeChunks.remainingCapacity() > 0) {
+			freeChunks.add(new Chunk(chunkSize));
+		}
+		stage("read", readMetrics, () -> read(reader));
+		stage("tokenize", tokenizeMetrics, this::tokenize);
+		stage("deduplicate", deduplicateMetrics, this::deduplicate);
+		stage("generate", generateMetrics, this::generate);
+		stage("write", writeMetrics, this::write);
+		// All stages exist before any starts, so a stage failing early can interrupt every other one.
+		synchronized (threads) {
+			for (Thread thread : threads) {
+				thread.start();
+			}
+		}
+		try {
+			for (Thread thread : threads) {
+				thread.join();
+			}
+		} catch (InterruptedException e) {
+			cancel();
+			throw e;
+		}
+		Throwable t = failure.get();
+		if (t instanceof Exception) {
+			throw (Exception) t;
+		}
+		if (t != null) {
+			throw new Exception(t);
+		}
+	}
+
+	public void cancel() {
+		stopped = true;
+		synchronized (threads) {
+			for (Thread thread : threads) {
+				if (thread != Thread.currentThread()) {
+					thread.interrupt();
+				}
+			}
+		}
+	}
+
+	public List<StageMetrics> getMetrics() {
+		return Collections.unmodifiableList(Arrays.asList(readMetrics, tokenizeMetrics, deduplicateMetrics,
+				generateMetrics, writeMetrics));
+	}
+
+	private void stage(String name, StageMetrics metrics, StageBody body) {
+		Thread thread = new Thread(() -> {
+			metrics.start();
+			try {
+				if (!stopped) {
+					body.run();
+				}
+			} catch (InterruptedException e) {
+				if (!stopped) {
+					fail(e);
+				}
+			} catch (Throwable t) {
+				// Interrupting a stage stopped on purpose may also close the channel it was reading.
+				if (!stopped) {
+					fail(t);
+				}
+			} finally {
+				metrics.stop();
+			}
+		}, "pipeline-" + name);
+		thread.setDaemon(true);
+		synchronized (threads) {
+			threads.add(thread);
+		}
+	}
+
+	private void fail(Throwable t) {
+		failure.compareAndSet(null, t);
+		cancel();
+	}
+
+	private void read(Reader reader) throws IOException, InterruptedException {
+		while (!stopped) {
+			Chunk chunk = freeChunks.take();
+			chunk.length = reader.read(chunk.chars);
+			if (chunk.length == -1) {
+				break;
+			}
+			chunks.put(chunk);
+			readMetrics.add(chunk.length);
+		}
+		chunks.put(Chunk.END);
+	}
+
+	private void tokenize() throws InterruptedException {
+		StreamingTokenizer tokenizer = new StreamingTokenizer(chunkSize);
+		WordBatcher batcher = new WordBatcher();
+		while (true) {
+			Chunk chunk = chunks.take();
+			if (chunk == Chunk.END) {
+				break;
+			}
+			boolean more = tokenizer.feed(chunk.chars, 0, chunk.length, batcher);
+			freeChunks.put(chunk);
+			if (!more) {
+				checkInterrupted();
+				return;
+			}
+		}
+		tokenizer.finish(batcher);
+		checkInterrupted();
+		batcher.flush();
+		words.put(WordBatch.END);
+	}
+
+	private void deduplicate() throws InterruptedException {
+		WordTable seenWords = new WordTable();
+		SumBatch batch = new SumBatch(batchSize);
+		while (true) {
+			WordBatch wordBatch = words.take();
+			if (wordBatch == WordBatch.END) {
+				break;
+			}
+			for (int i = 0; i < wordBatch.size; i++) {
+				int wordsNo = seenWords.size();
+				seenWords.add(wordBatch.chars, wordBatch.offsets[i], wordBatch.lengths[i], wordBatch.charSums[i]);
+				if (seenWords.size() > wordsNo) {
+					batch.charSums[batch.size++] = wordBatch.charSums[i];
+					if (batch.size == batchSize) {
+						deduplicateMetrics.add(batch.size);
+						uniqueWords.put(batch);
+						batch = new SumBatch(batchSize);
+					}
+				}
+			}
+		}
+		deduplicateMetrics.add(batch.size);
+		uniqueWords.put(batch);
+		uniqueWords.put(SumBatch.END);
+	}
+
+	private void generate() throws InterruptedException {
+		PasswordBatcher batcher = new PasswordBatcher();
+		SlidingWindowGenerator windows = new SlidingWindowGenerator(windowSize, specialChars, batcher);
+		while (true) {
+			SumBatch batch = uniqueWords.take();
+			if (batch == SumBatch.END) {
+				break;
+			}
+			for (int i = 0; i < batch.size; i++) {
+				if (!windows.onUniqueWord(batch.charSums[i])) {
+					checkInterrupted();
+					return;
+				}
+			}
+		}
+		batcher.flush();
+		passwords.put(PasswordBatch.END);
+	}
+
+	private void write() throws InterruptedException {
+		while (true) {
+			PasswordBatch batch = passwords.take();
+			if (batch == PasswordBatch.END) {
+				return;
+			}
+			for (int i = 0; i < batch.size; i++) {
+				if (!sink.onPassword(batch.chars, i * windowSize, windowSize)) {
+					writeMetrics.add(i + 1);
+					cancel();
+					return;
+				}
+			}
+			writeMetrics.add(batch.size);
+		}
+	}
+
+	private void checkInterrupted() throws InterruptedException {
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+	}
+
+	@FunctionalInterface
+	private interface StageBody {
+		void run() throws Exception;
+	}
+
+	private class WordBatcher implements WordHandler {
+		private WordBatch batch = new WordBatch(batchSize);
+
+		@Override
+		public boolean onWord(char[] chars, int offset, int length, int charSum) {
+			batch.add(chars, offset, length, charSum);
+			return batch.size < batchSize || flush();
+		}
+
+		// Returns false once the stage has been interrupted, which also stops the tokenizer.
+		boolean flush() {
+			try {
+				tokenizeMetrics.add(batch.size);
+				words.put(batch);
+				batch = new WordBatch(batchSize);
+				return !stopped;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+	}
+
+	private class PasswordBatcher implements PasswordHandler {
+		private PasswordBatch batch = new PasswordBatch(batchSize, windowSize);
+
+		@Override
+		public boolean onPassword(char[] chars, int offset, int length) {
+			System.arraycopy(chars, offset, batch.chars, batch.size * windowSize, length);
+			batch.size++;
+			return batch.size < batchSize || flush();
+		}
+
+		boolean flush() {
+			try {
+				generateMetrics.add(batch.size);
+				passwords.put(batch);
+				batch = new PasswordBatch(batchSize, windowSize);
+				return !stopped;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+	}
+
+	private static class Chunk {
+		static final Chunk END = new Chunk(0);
+		final char[] chars;
+		int length;
+
+		Chunk(int size) {
+			this.chars = new char[size];
+		}
+	}
+
+	// Words back to back in one char array, which grows for batches of long words.
+	private static class WordBatch {
+		static final WordBatch END = new WordBatch(0);
+		private static final int AVERAGE_WORD_LENGTH = 8;
+		char[] chars;
+		int charsNo;
+		final int[] offsets;
+		final int[] lengths;
+		final int[] charSums;
+		int size;
+
+		WordBatch(int capacity) {
+			this.chars = new char[capacity * AVERAGE_WORD_LENGTH];
+			this.offsets = new int[capacity];
+			this.lengths = new int[capacity];
+			this.charSums = new int[capacity];
+		}
+
+		void add(char[] word, int offset, int length, int charSum) {
+			if (charsNo + length > chars.length) {
+				chars = Arrays.copyOf(chars, Math.max(charsNo + length, chars.length * 2));
+			}
+			System.arraycopy(word, offset, chars, charsNo, length);
+			offsets[size] = charsNo;
+			lengths[size] = length;
+			charSums[size++] = charSum;
+			charsNo += length;
+		}
+	}
+
+	private static class SumBatch {
+		static final SumBatch END = new SumBatch(0);
+		final int[] charSums;
+		int size;
+
+		SumBatch(int capacity) {
+			this.charSums = new int[capacity];
+		}
+	}
+
+	private static class PasswordBatch {
+		static final PasswordBatch END = new PasswordBatch(0, 0);
+		final char[] chars;
+		int size;
+
+		PasswordBatch(int capacity, int passwordLength) {
+			this.chars = new char[capacity * passwordLength];
+		}
+	}
+
+	public static class Builder {
+
+		private int windowSize;
+		private char[] specialChars;
+		private PasswordHandler sink;
+		private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+		private int chunkSize = StreamingTokenizer.DEFAULT_CHUNK_SIZE;
+		private int batchSize = DEFAULT_BATCH_SIZE;
+
+		public Builder() {
+		}
+
+		public Builder withWindowSize(int windowSize) {
+			this.windowSize = windowSize;
+			return this;
+		}
+
+		public Builder withSpecialChars(char[] specialChars) {
+			this.specialChars = specialChars;
+			return this;
+		}
+
+		public Builder withSink(PasswordHandler sink) {
+			this.sink = sink;
+			return this;
+		}
+
+		public Builder withQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		public Builder withChunkSize(int chunkSize) {
+			this.chunkSize = chunkSize;
+			return this;
+		}
+
+		public Builder withBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		public GenerationPipeline build() {
+			if (specialChars == null || sink == null) {
+				throw new IllegalStateException("Special chars and sink are required");
+			}
+			if (windowSize <= specialChars.length || queueCapacity <= 0 || chunkSize <= 0 || batchSize <= 0) {
+				throw new IllegalArgumentException("Window size must exceed the special chars; queue capacity, "
+						+ "chunk size and batch size must be positive");
+			}
+			return new GenerationPipeline(this);
+		}
+	}
+}
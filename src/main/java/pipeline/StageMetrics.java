@@ -0,0 +1,66 @@
+package pipeline;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Live view of one pipeline stage. A stage whose input queue stays full while the next one's stays empty is
+ * the bottleneck.
+ */
+public class StageMetrics {
+
+	private final String name;
+	private final BlockingQueue<?> input;
+	private final AtomicLong processed = new AtomicLong();
+	private volatile long startNanos;
+	private volatile long endNanos;
+
+	StageMetrics(String name, BlockingQueue<?> input) {
+		this.name = name;
+		this.input = input;
+	}
+
+	void start() {
+		startNanos = System.nanoTime();
+	}
+
+	void stop() {
+		endNanos = System.nanoTime();
+	}
+
+	void add(long items) {
+		processed.addAndGet(items);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getProcessed() {
+		return processed.get();
+	}
+
+	public int getQueueDepth() {
+		return input == null ? 0 : input.size();
+	}
+
+	public int getQueueCapacity() {
+		return input == null ? 0 : input.size() + input.remainingCapacity();
+	}
+
+	// Items per second since the stage started, up to when it stopped.
+	public double getThroughput() {
+		long start = startNanos;
+		if (start == 0) {
+			return 0;
+		}
+		long end = endNanos != 0 ? endNanos : System.nanoTime();
+		return end > start ? processed.get() * 1e9 / (end - start) : 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: %d items, %.0f items/s, queue %d/%d", name, getProcessed(), getThroughput(),
+				getQueueDepth(), getQueueCapacity());
+	}
+}
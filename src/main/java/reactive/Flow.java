@@ -0,0 +1,34 @@
+package reactive;
+
+/*
+ * The interfaces of java.util.concurrent.Flow (Reactive Streams), which the Java 8 runtime this project targets
+ * does not have yet. Same names, methods and rules, so moving to the JDK ones is a change of imports.
+ */
+public final class Flow {
+
+	private Flow() {
+	}
+
+	@FunctionalInterface
+	public interface Publisher<T> {
+		void subscribe(Subscriber<? super T> subscriber);
+	}
+
+	public interface Subscriber<T> {
+		void onSubscribe(Subscription subscription);
+
+		void onNext(T item);
+
+		void onError(Throwable throwable);
+
+		void onComplete();
+	}
+
+	public interface Subscription {
+		// Asks for up to n more items; n must be positive.
+		void request(long n);
+
+		// Asks for no more items. Items may still arrive for a while.
+		void cancel();
+	}
+}
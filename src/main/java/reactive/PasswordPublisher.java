@@ -0,0 +1,168 @@
+package reactive;
+
+import corpus.WordSource;
+import generation.GenerationSpec;
+import generation.IGenerator;
+import generation.PasswordHandler;
+import generation.SlidingWindowGenerator;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/*
+ * Publishes generated passwords on demand. Every subscription runs its own production on the executor, which
+ * generates a password only once the subscriber has requested it and otherwise waits, so a slow subscriber holds
+ * back the generator, and for a corpus the tokenizer behind it, instead of letting results pile up. Cancelling
+ * stops the production, including the tokenization of the corpus. Each item is a fresh char[] the subscriber owns.
+ */
+public class PasswordPublisher implements Flow.Publisher<char[]> {
+
+	private final Production production;
+	private final Executor executor;
+
+	private PasswordPublisher(Production production, Executor executor) {
+		this.production = production;
+		this.executor = executor;
+	}
+
+	// One password per window of windowSize consecutive unique words of the corpus.
+	public static PasswordPublisher windows(WordSource source, int windowSize, char[] specialChars) {
+		return windows(source, windowSize, specialChars, PasswordPublisher::startDaemon);
+	}
+
+	public static PasswordPublisher windows(WordSource source, int windowSize, char[] specialChars,
+											Executor executor) {
+		return new PasswordPublisher(emitter ->
+				source.forEachWord(new SlidingWindowGenerator(windowSize, specialChars, emitter)), executor);
+	}
+
+	// One password per spec, generated when it is requested. Every subscription iterates the specs anew.
+	public static PasswordPublisher of(IGenerator generator, Iterable<GenerationSpec> specs) {
+		return of(generator, specs, PasswordPublisher::startDaemon);
+	}
+
+	public static PasswordPublisher of(IGenerator generator, Iterable<GenerationSpec> specs, Executor executor) {
+		return new PasswordPublisher(emitter -> {
+			Iterator<GenerationSpec> iterator = specs.iterator();
+			while (emitter.awaitDemand() && iterator.hasNext()) {
+				GenerationSpec spec = iterator.next();
+				char[] password = generator.generate(spec.getLength(), spec.getSpecialChars(), spec.getUniqueWords());
+				if (!emitter.onPassword(password, 0, password.length)) {
+					return;
+				}
+			}
+		}, executor);
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super char[]> subscriber) {
+		Objects.requireNonNull(subscriber, "subscriber");
+		PasswordSubscription subscription = new PasswordSubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+		executor.execute(() -> subscription.run(production));
+	}
+
+	private static void startDaemon(Runnable runnable) {
+		Thread thread = new Thread(runnable, "password-publisher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@FunctionalInterface
+	private interface Production {
+		void run(Emitter emitter) throws Exception;
+	}
+
+	private interface Emitter extends PasswordHandler {
+		// Waits until the subscriber wants another password. Returns false once it wants none anymore.
+		boolean awaitDemand();
+	}
+
+	private static final class PasswordSubscription implements Flow.Subscription, Emitter {
+		private final Flow.Subscriber<? super char[]> subscriber;
+		private long demand;
+		private boolean cancelled;
+		private Throwable invalidRequest;
+
+		PasswordSubscription(Flow.Subscriber<? super char[]> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public synchronized void request(long n) {
+			if (n <= 0) {
+				invalidRequest = new IllegalArgumentException("Requested " + n + " items, must be positive");
+			} else {
+				demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+			}
+			notifyAll();
+		}
+
+		@Override
+		public synchronized void cancel() {
+			cancelled = true;
+			notifyAll();
+		}
+
+		@Override
+		public synchronized boolean awaitDemand() {
+			try {
+				while (demand == 0 && !cancelled && invalidRequest == null) {
+					wait();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				cancelled = true;
+			}
+			return !cancelled && invalidRequest == null;
+		}
+
+		// Runs on the production thread, which is the only one signalling the subscriber after onSubscribe.
+		@Override
+		public boolean onPassword(char[] chars, int offset, int length) {
+			synchronized (this) {
+				if (!awaitDemand()) {
+					return false;
+				}
+				if (demand != Long.MAX_VALUE) {
+					demand--;
+				}
+			}
+			subscriber.onNext(Arrays.copyOfRange(chars, offset, offset + length));
+			return isActive();
+		}
+
+		void run(Production production) {
+			try {
+				production.run(this);
+			} catch (Throwable t) {
+				if (!isCancelled()) {
+					subscriber.onError(t);
+				}
+				return;
+			}
+			Throwable error;
+			synchronized (this) {
+				if (cancelled) {
+					return;
+				}
+				error = invalidRequest;
+			}
+			if (error != null) {
+				subscriber.onError(error);
+			} else {
+				subscriber.onComplete();
+			}
+		}
+
+		private synchronized boolean isActive() {
+			return !cancelled && invalidRequest == null;
+		}
+
+		private synchronized boolean isCancelled() {
+			return cancelled;
+		}
+	}
+}
@@ -0,0 +1,365 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import corpus.WordExtractor;
+import corpus.WordTable;
+import exceptions.InvalidPasswordLengthException;
+import exceptions.InvalidSpecialCharsSizeException;
+import exceptions.NotAdequateValidWordsException;
+import generation.IGenerator;
+import generation.ParallelGenerator;
+import model.PasswordPolicy;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Local HTTP service around an IGenerator, on the JDK's com.sun.net.httpserver. The corpus is the request body,
+ * UTF-8 text; length, specialChars (comma-separated) and long=true go in the query string.
+ *
+ *   POST /generate   one password, the first length unique words of the body
+ *   POST /bulk       one password per window of length consecutive unique words, newline-separated and streamed
+ *                    with chunked encoding as they are generated; count=<n> takes only the first n windows
+ *
+ * Bodies above the request limit are refused with 413, whether announced by Content-Length or found while
+ * reading. The rest of every body is read before answering, so the connection stays open for the next request;
+ * keep-alive itself is the server's, tuned by the sun.net.httpserver.* properties. The server writes headers and
+ * body as separate segments, so without -Dsun.net.httpserver.nodelay=true every keep-alive response waits out the
+ * client's delayed ACK, some 40 ms; Serve sets it, embedders must pass it. Invalid parameters give 400, a policy
+ * violation 422. Requests run concurrently on the executor, so the generator must be safe to share.
+ */
+public class GenerationServer {
+
+	public static final String GENERATE_PATH = "/generate";
+	public static final String BULK_PATH = "/bulk";
+	private static final int DEFAULT_MAX_REQUEST_BYTES = 1 << 20;
+	private static final int DEFAULT_MAX_BULK_PASSWORDS = 100_000;
+	private static final int DEFAULT_BACKLOG = 1024;
+	private static final int WRITER_BUFFER_CHARS = 8192;
+	private static final int DRAIN_BUFFER_BYTES = 8192;
+	private static final String POST = "POST";
+	private static final String TEXT_PLAIN = "text/plain; charset=utf-8";
+	private static final int OK = 200;
+	private static final int BAD_REQUEST = 400;
+	private static final int METHOD_NOT_ALLOWED = 405;
+	private static final int PAYLOAD_TOO_LARGE = 413;
+	private static final int UNPROCESSABLE_ENTITY = 422;
+	private static final int INTERNAL_ERROR = 500;
+	private static final int CHUNKED = 0;
+	private static final int NO_BODY = -1;
+	private static final int NOT_SENT = -1;
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final boolean ownsExecutor;
+	private final IGenerator generator;
+	private final int maxRequestBytes;
+	private final int maxBulkPasswords;
+
+	private GenerationServer(Builder builder) throws IOException {
+		this.generator = builder.generator;
+		this.maxRequestBytes = builder.maxRequestBytes;
+		this.maxBulkPasswords = builder.maxBulkPasswords;
+		this.ownsExecutor = builder.executor == null;
+		this.executor = ownsExecutor ? Executors.newFixedThreadPool(builder.threads, GenerationServer::newThread)
+				: builder.executor;
+		this.server = HttpServer.create(new InetSocketAddress(builder.address, builder.port), builder.backlog);
+		server.createContext(GENERATE_PATH, exchange -> handle(exchange, false));
+		server.createContext(BULK_PATH, exchange -> handle(exchange, true));
+		server.setExecutor(executor);
+	}
+
+	public GenerationServer start() {
+		server.start();
+		return this;
+	}
+
+	// Stops accepting, waits up to delaySeconds for exchanges in progress, then stops the executor if it is ours.
+	public void stop(int delaySeconds) {
+		server.stop(delaySeconds);
+		if (ownsExecutor) {
+			executor.shutdown();
+			try {
+				executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			executor.shutdownNow();
+		}
+	}
+
+	public InetSocketAddress getAddress() {
+		return server.getAddress();
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	private void handle(HttpExchange exchange, boolean bulk) throws IOException {
+		try {
+			if (!POST.equals(exchange.getRequestMethod())) {
+				exchange.getResponseHeaders().set("Allow", POST);
+				respond(exchange, METHOD_NOT_ALLOWED, "Only POST is supported");
+				return;
+			}
+			long contentLength = contentLength(exchange);
+			if (contentLength > maxRequestBytes) {
+				respond(exchange, PAYLOAD_TOO_LARGE, "Request body exceeds " + maxRequestBytes + " bytes");
+				return;
+			}
+			Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+			int length = PasswordPolicy.parseLength(required(parameters, "length"));
+			char[] specialChars = PasswordPolicy.parseSpecialChars(required(parameters, "specialChars"));
+			boolean longOutput = Boolean.parseBoolean(parameters.get("long"));
+			if (longOutput) {
+				PasswordPolicy.validateLongPasswordLength(length);
+			} else {
+				PasswordPolicy.validatePasswordLength(length);
+			}
+			PasswordPolicy.validateSpecialChars(specialChars.length, length);
+			int count = parameters.containsKey("count") ? parseCount(parameters.get("count")) : maxBulkPasswords;
+
+			LimitedInputStream body = new LimitedInputStream(exchange.getRequestBody(), maxRequestBytes);
+			WordTable words = WordExtractor.wordTable(new InputStreamReader(body, StandardCharsets.UTF_8),
+					bulk ? WordExtractor.NO_LIMIT : length);
+			body.drain();
+			PasswordPolicy.validateUniqueWords(Math.min(words.size(), length), length, "request body");
+			if (bulk) {
+				streamWindows(exchange, words.toList(), length, specialChars, count);
+			} else {
+				char[] password = longOutput ? generator.generateLong(length, specialChars, words.toList())
+						: generator.generate(length, specialChars, words.toList());
+				respond(exchange, OK, new String(password));
+			}
+		} catch (RequestTooLargeException e) {
+			respond(exchange, PAYLOAD_TOO_LARGE, e.getMessage());
+		} catch (IllegalArgumentException e) {
+			respond(exchange, BAD_REQUEST, e.getMessage());
+		} catch (InvalidPasswordLengthException | InvalidSpecialCharsSizeException |
+				NotAdequateValidWordsException e) {
+			respond(exchange, UNPROCESSABLE_ENTITY, e.getMessage());
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			respond(exchange, INTERNAL_ERROR, String.valueOf(e.getMessage()));
+		} finally {
+			exchange.close();
+		}
+	}
+
+	// Headers go out before the first password, so passwords reach the client while later ones are generated.
+	private void streamWindows(HttpExchange exchange, List<String> words, int length, char[] specialChars,
+							   int count) throws Exception {
+		int windowsNo = Math.min(Math.min(count, maxBulkPasswords), words.size() - length + 1);
+		exchange.getResponseHeaders().set("Content-Type", TEXT_PLAIN);
+		exchange.sendResponseHeaders(OK, CHUNKED);
+		try (Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(),
+				StandardCharsets.UTF_8), WRITER_BUFFER_CHARS)) {
+			for (int i = 0; i < windowsNo; i++) {
+				out.write(generator.generate(length, specialChars, words.subList(i, i + length)));
+				out.write('\n');
+			}
+		}
+	}
+
+	// Does nothing once a status went out: a failed bulk response can only be cut short.
+	private static void respond(HttpExchange exchange, int status, String text) throws IOException {
+		if (exchange.getResponseCode() != NOT_SENT) {
+			return;
+		}
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", TEXT_PLAIN);
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? NO_BODY : bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static long contentLength(HttpExchange exchange) {
+		String header = exchange.getRequestHeaders().getFirst("Content-Length");
+		try {
+			return header == null ? 0 : Long.parseLong(header.trim());
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	private static Map<String, String> parameters(String query) throws IOException {
+		Map<String, String> parameters = new HashMap<>();
+		if (query == null || query.isEmpty()) {
+			return parameters;
+		}
+		for (String pair : query.split("&")) {
+			int separator = pair.indexOf('=');
+			String name = separator < 0 ? pair : pair.substring(0, separator);
+			String value = separator < 0 ? "" : pair.substring(separator + 1);
+			parameters.put(URLDecoder.decode(name, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+		}
+		return parameters;
+	}
+
+	private static String required(Map<String, String> parameters, String name) {
+		String value = parameters.get(name);
+		if (value == null) {
+			throw new IllegalArgumentException("Missing query parameter: " + name);
+		}
+		return value;
+	}
+
+	private static int parseCount(String text) {
+		try {
+			int count = Integer.parseInt(text.trim());
+			if (count > 0) {
+				return count;
+			}
+		} catch (NumberFormatException e) {
+			// reported below
+		}
+		throw new IllegalArgumentException("Count must be a positive number: " + text);
+	}
+
+	private static Thread newThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, "generation-server");
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	private static final class RequestTooLargeException extends IOException {
+		RequestTooLargeException(int maxBytes) {
+			super("Request body exceeds " + maxBytes + " bytes");
+		}
+	}
+
+	// Fails once more than maxBytes have been read, for bodies sent without a Content-Length.
+	private static final class LimitedInputStream extends FilterInputStream {
+		private final int maxBytes;
+		private long bytesRead;
+
+		LimitedInputStream(InputStream in, int maxBytes) {
+			super(in);
+			this.maxBytes = maxBytes;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) {
+				count(1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int read = super.read(buffer, offset, length);
+			if (read > 0) {
+				count(read);
+			}
+			return read;
+		}
+
+		// Reads what the tokenizer left, so the connection can carry the next request.
+		void drain() throws IOException {
+			byte[] buffer = new byte[DRAIN_BUFFER_BYTES];
+			while (read(buffer, 0, buffer.length) != -1) {
+				// discard
+			}
+		}
+
+		private void count(int bytes) throws RequestTooLargeException {
+			bytesRead += bytes;
+			if (bytesRead > maxBytes) {
+				throw new RequestTooLargeException(maxBytes);
+			}
+		}
+	}
+
+	public static class Builder {
+
+		private InetAddress address = InetAddress.getLoopbackAddress();
+		private int port;
+		private int backlog = DEFAULT_BACKLOG;
+		private int threads = Runtime.getRuntime().availableProcessors() * 2;
+		private ExecutorService executor;
+		private IGenerator generator = new ParallelGenerator();
+		private int maxRequestBytes = DEFAULT_MAX_REQUEST_BYTES;
+		private int maxBulkPasswords = DEFAULT_MAX_BULK_PASSWORDS;
+
+		public Builder() {
+		}
+
+		// Loopback by default: a local service for the host, not an exposed one.
+		public Builder withAddress(InetAddress address) {
+			this.address = address;
+			return this;
+		}
+
+		// 0, the default, picks a free port; see getPort.
+		public Builder withPort(int port) {
+			this.port = port;
+			return this;
+		}
+
+		public Builder withBacklog(int backlog) {
+			this.backlog = backlog;
+			return this;
+		}
+
+		// Size of the server's own pool of request threads, twice the processors by default.
+		public Builder withThreads(int threads) {
+			this.threads = threads;
+			return this;
+		}
+
+		// Runs requests on the given executor instead, which the server then leaves running on stop.
+		public Builder withExecutor(ExecutorService executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		// Called from many request threads at once, so it must be safe to share. ParallelGenerator by default.
+		public Builder withGenerator(IGenerator generator) {
+			this.generator = generator;
+			return this;
+		}
+
+		public Builder withMaxRequestBytes(int maxRequestBytes) {
+			this.maxRequestBytes = maxRequestBytes;
+			return this;
+		}
+
+		// Upper bound on the passwords of one bulk response, whatever count asks for.
+		public Builder withMaxBulkPasswords(int maxBulkPasswords) {
+			this.maxBulkPasswords = maxBulkPasswords;
+			return this;
+		}
+
+		public GenerationServer build() throws IOException {
+			if (generator == null) {
+				throw new IllegalStateException("Generator is required");
+			}
+			if (threads <= 0 || maxRequestBytes <= 0 || maxBulkPasswords <= 0) {
+				throw new IllegalArgumentException("Threads, request size and bulk size limits must be positive");
+			}
+			return new GenerationServer(this);
+		}
+	}
+}
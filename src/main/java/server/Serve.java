@@ -0,0 +1,38 @@
+package server;
+
+/*
+ * Runs a GenerationServer until the process is stopped.
+ *
+ * Usage: java -cp <jar> server.Serve <port> [threads]
+ */
+public class Serve {
+
+	private static final String USAGE = "Usage: server.Serve <port> [threads]";
+	private static final int EXIT_USAGE = 2;
+	private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+	public static void main(String[] args) throws Exception {
+		// Read once, when the first server is created; see GenerationServer.
+		if (System.getProperty(NODELAY_PROPERTY) == null) {
+			System.setProperty(NODELAY_PROPERTY, "true");
+		}
+		if (args.length < 1 || args.length > 2) {
+			System.err.println(USAGE);
+			System.exit(EXIT_USAGE);
+		}
+		GenerationServer.Builder builder = new GenerationServer.Builder();
+		try {
+			builder.withPort(Integer.parseInt(args[0]));
+			if (args.length == 2) {
+				builder.withThreads(Integer.parseInt(args[1]));
+			}
+		} catch (NumberFormatException e) {
+			System.err.println(USAGE);
+			System.exit(EXIT_USAGE);
+		}
+		GenerationServer server = builder.build().start();
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+		System.err.println("Listening on " + server.getAddress());
+		Thread.currentThread().join();
+	}
+}
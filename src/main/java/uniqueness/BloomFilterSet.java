@@ -0,0 +1,70 @@
+package uniqueness;
+
+import hashing.Fingerprints;
+
+/*
+ * Probabilistic set of passwords for runs too large to keep a fingerprint each. Sized up front for the expected
+ * number of passwords and false-positive rate: at 1% a password takes about 1.2 bytes. A repeated password is always
+ * caught; a new one is taken for a repeat with about the configured probability once the filter holds the expected
+ * number of passwords, more beyond it. Bit positions come from double hashing of two 64-bit hashes.
+ * Not safe to share between threads.
+ */
+public class BloomFilterSet implements PasswordSet {
+
+	private final OffHeapLongs words;
+	private final long bitsNo;
+	private final int hashesNo;
+	private long size;
+
+	public BloomFilterSet(long expectedSize, double falsePositiveRate) {
+		if (expectedSize <= 0) {
+			throw new IllegalArgumentException("Expected size must be positive: " + expectedSize);
+		}
+		if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("False-positive rate must be in (0, 1): " + falsePositiveRate);
+		}
+		double ln2 = Math.log(2);
+		long bits = (long) Math.ceil(-expectedSize * Math.log(falsePositiveRate) / (ln2 * ln2));
+		this.bitsNo = Math.max(Long.SIZE, (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+		this.hashesNo = Math.max(1, (int) Math.round((double) bitsNo / expectedSize * ln2));
+		this.words = new OffHeapLongs(bitsNo / Long.SIZE);
+	}
+
+	@Override
+	public boolean add(char[] chars, int offset, int length) {
+		long hash1 = Fingerprints.hash(chars, offset, length, Fingerprints.SEED_1);
+		long hash2 = Fingerprints.hash(chars, offset, length, Fingerprints.SEED_2);
+		boolean added = false;
+		for (int i = 0; i < hashesNo; i++) {
+			long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitsNo;
+			long word = words.get(bit >>> 6);
+			long mask = 1L << bit;
+			if ((word & mask) == 0) {
+				words.set(bit >>> 6, word | mask);
+				added = true;
+			}
+		}
+		if (added) {
+			size++;
+		}
+		return added;
+	}
+
+	@Override
+	public long size() {
+		return size;
+	}
+
+	@Override
+	public long getMemoryBytes() {
+		return words.bytes();
+	}
+
+	public long getBitsNo() {
+		return bitsNo;
+	}
+
+	public int getHashesNo() {
+		return hashesNo;
+	}
+}
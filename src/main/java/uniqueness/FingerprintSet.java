@@ -0,0 +1,88 @@
+package uniqueness;
+
+import hashing.Fingerprints;
+
+/*
+ * Exact set of passwords as 128-bit fingerprints in an off-heap open-addressing table with linear probing. A slot
+ * is two longs, and the table doubles before it is three quarters full, so a password takes 21 to 43 bytes.
+ * Two different passwords are only taken for the same one if both 64-bit hashes collide, which for a billion
+ * passwords happens with a probability around 10^-21. Not safe to share between threads.
+ */
+public class FingerprintSet implements PasswordSet {
+
+	private static final double MAX_LOAD = 0.75;
+	private static final long MIN_CAPACITY = 16;
+
+	private OffHeapLongs slots;
+	private long capacity;
+	private long size;
+
+	public FingerprintSet(long expectedSize) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+		}
+		this.capacity = Math.max(MIN_CAPACITY, Long.highestOneBit((long) Math.ceil(expectedSize / MAX_LOAD)) << 1);
+		this.slots = new OffHeapLongs(capacity * 2);
+	}
+
+	@Override
+	public boolean add(char[] chars, int offset, int length) {
+		long high = Fingerprints.hash(chars, offset, length, Fingerprints.SEED_1);
+		long low = Fingerprints.hash(chars, offset, length, Fingerprints.SEED_2);
+		if (high == 0 && low == 0) {
+			// Two zeroes mark an empty slot.
+			low = 1;
+		}
+		if (size + 1 > capacity * MAX_LOAD) {
+			grow();
+		}
+		return insert(slots, capacity - 1, high, low);
+	}
+
+	@Override
+	public long size() {
+		return size;
+	}
+
+	@Override
+	public long getMemoryBytes() {
+		return slots.bytes();
+	}
+
+	public long getCapacity() {
+		return capacity;
+	}
+
+	private boolean insert(OffHeapLongs table, long mask, long high, long low) {
+		long slot = high & mask;
+		while (true) {
+			long slotHigh = table.get(slot * 2);
+			long slotLow = table.get(slot * 2 + 1);
+			if (slotHigh == 0 && slotLow == 0) {
+				table.set(slot * 2, high);
+				table.set(slot * 2 + 1, low);
+				size++;
+				return true;
+			}
+			if (slotHigh == high && slotLow == low) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	private void grow() {
+		OffHeapLongs old = slots;
+		long oldCapacity = capacity;
+		capacity *= 2;
+		slots = new OffHeapLongs(capacity * 2);
+		size = 0;
+		for (long slot = 0; slot < oldCapacity; slot++) {
+			long high = old.get(slot * 2);
+			long low = old.get(slot * 2 + 1);
+			if (high != 0 || low != 0) {
+				insert(slots, capacity - 1, high, low);
+			}
+		}
+	}
+}
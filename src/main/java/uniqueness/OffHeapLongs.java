@@ -0,0 +1,44 @@
+package uniqueness;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+/*
+ * Zeroed array of longs in direct memory, split into 1 GB segments so it can grow past what one buffer or one Java
+ * array can index. Outside the heap, it adds nothing to GC marking however large it gets. The memory is released
+ * when the array becomes unreachable.
+ */
+final class OffHeapLongs {
+
+	private static final int SEGMENT_SHIFT = 27;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+	private final long length;
+	private final LongBuffer[] segments;
+
+	OffHeapLongs(long length) {
+		this.length = length;
+		int segmentsNo = (int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+		this.segments = new LongBuffer[segmentsNo];
+		for (int i = 0; i < segmentsNo; i++) {
+			long segmentLength = Math.min(1L << SEGMENT_SHIFT, length - ((long) i << SEGMENT_SHIFT));
+			segments[i] = ByteBuffer.allocateDirect((int) segmentLength * Long.BYTES).asLongBuffer();
+		}
+	}
+
+	long get(long index) {
+		return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+	}
+
+	void set(long index, long value) {
+		segments[(int) (index >>> SEGMENT_SHIFT)].put((int) (index & SEGMENT_MASK), value);
+	}
+
+	long length() {
+		return length;
+	}
+
+	long bytes() {
+		return length * Long.BYTES;
+	}
+}
@@ -0,0 +1,16 @@
+package uniqueness;
+
+/*
+ * The passwords a bulk run has produced so far, kept as fingerprints rather than as the passwords themselves.
+ */
+public interface PasswordSet {
+
+	// Records the password. Returns false when it was seen before or, for a probabilistic set, may have been.
+	boolean add(char[] chars, int offset, int length);
+
+	// Passwords recorded as new.
+	long size();
+
+	// Off-heap bytes held by the set.
+	long getMemoryBytes();
+}
@@ -0,0 +1,48 @@
+package uniqueness;
+
+import generation.PasswordHandler;
+
+/*
+ * Optional stage of a bulk run: passes each password on to the next handler only the first time it is produced,
+ * as judged by the PasswordSet, and counts the rest.
+ */
+public class UniquenessFilter implements PasswordHandler {
+
+	private final PasswordSet seen;
+	private final PasswordHandler next;
+	private long duplicatesNo;
+
+	public UniquenessFilter(PasswordSet seen, PasswordHandler next) {
+		this.seen = seen;
+		this.next = next;
+	}
+
+	public static UniquenessFilter exact(long expectedSize, PasswordHandler next) {
+		return new UniquenessFilter(new FingerprintSet(expectedSize), next);
+	}
+
+	public static UniquenessFilter approximate(long expectedSize, double falsePositiveRate, PasswordHandler next) {
+		return new UniquenessFilter(new BloomFilterSet(expectedSize, falsePositiveRate), next);
+	}
+
+	@Override
+	public boolean onPassword(char[] chars, int offset, int length) {
+		if (!seen.add(chars, offset, length)) {
+			duplicatesNo++;
+			return true;
+		}
+		return next.onPassword(chars, offset, length);
+	}
+
+	public long getUniqueNo() {
+		return seen.size();
+	}
+
+	public long getDuplicatesNo() {
+		return duplicatesNo;
+	}
+
+	public PasswordSet getSeen() {
+		return seen;
+	}
+}
@@ -0,0 +1,137 @@
+package core;
+
+import index.CorpusIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeadlessMainTest {
+	private static final String BASE_PATH = "src/test/resources";
+
+	@Test
+	public void generatesFromFile() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		int exitCode = HeadlessMain.run(new String[]{"12", "$,#,@,!", BASE_PATH + "/spotify.txt"},
+				new ByteArrayInputStream(new byte[0]), new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+		assertEquals(0, exitCode);
+		assertEquals("58#286$!l@lU", out.toString().trim());
+	}
+
+	@Test
+	public void generatesFromStdin() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		String corpus = "alpha bravo charlie delta echoes foxtrot golfer hotel";
+		int exitCode = HeadlessMain.run(new String[]{"8", "$,#,@"},
+				new ByteArrayInputStream(corpus.getBytes(StandardCharsets.UTF_8)), new PrintStream(out),
+				new PrintStream(new ByteArrayOutputStream()));
+		assertEquals(0, exitCode);
+		assertEquals(8, out.toString().trim().length());
+	}
+
+	@Test
+	public void rejectsTooFewWords() {
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		int exitCode = HeadlessMain.run(new String[]{"8", "$,#,@", "-"},
+				new ByteArrayInputStream("alpha bravo".getBytes(StandardCharsets.UTF_8)),
+				new PrintStream(new ByteArrayOutputStream()), new PrintStream(err));
+		assertEquals(1, exitCode);
+		assertTrue(err.toString().startsWith("Less than 8 valid US_ASCII words found in corpus."));
+	}
+
+	@Test
+	public void rejectsDuplicateSpecialChars() {
+		int exitCode = HeadlessMain.run(new String[]{"8", "$,#,$", "-"}, new ByteArrayInputStream(new byte[0]),
+				new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream()));
+		assertEquals(2, exitCode);
+	}
+
+	@Test
+	public void longOptionLiftsTheLengthCap() {
+		StringBuilder corpus = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			corpus.append("word").append(i).append(' ');
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		int exitCode = HeadlessMain.run(new String[]{"--long", "4096", "$,#,@,!"},
+				new ByteArrayInputStream(corpus.toString().getBytes(StandardCharsets.UTF_8)), new PrintStream(out),
+				new PrintStream(new ByteArrayOutputStream()));
+		assertEquals(0, exitCode);
+		assertEquals(4096, out.toString().trim().length());
+		assertEquals(1, HeadlessMain.run(new String[]{"4096", "$,#,@,!"}, new ByteArrayInputStream(new byte[0]),
+				new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream())));
+	}
+
+	@Test
+	public void windowsOptionPrintsOnePasswordPerWindow() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		String corpus = "alpha bravo charlie delta echoes foxtrot golfer hotel india juliet";
+		int exitCode = HeadlessMain.run(new String[]{"--windows", "8", "$,#,@"},
+				new ByteArrayInputStream(corpus.getBytes(StandardCharsets.UTF_8)), new PrintStream(out),
+				new PrintStream(new ByteArrayOutputStream()));
+		assertEquals(0, exitCode);
+		String[] lines = out.toString().trim().split("\\R");
+		assertEquals(3, lines.length);
+		assertEquals(8, lines[1].length());
+	}
+
+	@Test
+	public void indexGivesSameOutputAsText(@TempDir Path dir) throws Exception {
+		Path index = dir.resolve("spotify.pwci");
+		new CorpusIndex.Builder().addCorpus(Paths.get(BASE_PATH, "spotify.txt")).write(index);
+		for (String[] options : new String[][]{{}, {"--windows"}}) {
+			ByteArrayOutputStream fromText = new ByteArrayOutputStream();
+			ByteArrayOutputStream fromIndex = new ByteArrayOutputStream();
+			String[] textArgs = concat(options, "12", "$,#,@,!", BASE_PATH + "/spotify.txt");
+			String[] indexArgs = concat(options, "12", "$,#,@,!", index.toString());
+			assertEquals(0, HeadlessMain.run(textArgs, new ByteArrayInputStream(new byte[0]),
+					new PrintStream(fromText), new PrintStream(new ByteArrayOutputStream())));
+			assertEquals(0, HeadlessMain.run(indexArgs, new ByteArrayInputStream(new byte[0]),
+					new PrintStream(fromIndex), new PrintStream(new ByteArrayOutputStream())));
+			assertEquals(fromText.toString(), fromIndex.toString());
+		}
+	}
+
+	@Test
+	public void outputOptionWritesToFile(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("passwords.txt");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		String corpus = "alpha bravo charlie delta echoes foxtrot golfer hotel india juliet";
+		assertEquals(0, HeadlessMain.run(new String[]{"--windows", "8", "$,#,@"},
+				new ByteArrayInputStream(corpus.getBytes(StandardCharsets.UTF_8)), new PrintStream(out),
+				new PrintStream(new ByteArrayOutputStream())));
+		assertEquals(0, HeadlessMain.run(new String[]{"--windows", "--output", file.toString(), "8", "$,#,@"},
+				new ByteArrayInputStream(corpus.getBytes(StandardCharsets.UTF_8)),
+				new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream())));
+		assertEquals(Arrays.asList(out.toString().trim().split("\\R")), Files.readAllLines(file));
+	}
+
+	@Test
+	public void failedRunLeavesOutputFileIntact(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("passwords.txt");
+		Files.write(file, Arrays.asList("kept"));
+		assertEquals(1, HeadlessMain.run(new String[]{"--output", file.toString(), "8", "$,#,@", "-"},
+				new ByteArrayInputStream("alpha bravo".getBytes(StandardCharsets.UTF_8)),
+				new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream())));
+		assertEquals(Arrays.asList("kept"), Files.readAllLines(file));
+		try (Stream<Path> files = Files.list(dir)) {
+			assertEquals(1, files.count());
+		}
+	}
+
+	private String[] concat(String[] options, String... args) {
+		String[] all = Arrays.copyOf(options, options.length + args.length);
+		System.arraycopy(args, 0, all, options.length, args.length);
+		return all;
+	}
+}
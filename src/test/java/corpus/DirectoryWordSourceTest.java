@@ -0,0 +1,59 @@
+package corpus;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirectoryWordSourceTest {
+	private static final String BASE_PATH = "src/test/resources";
+
+	@Test
+	public void matchesFilesReadOneAfterAnotherInPathOrder(@TempDir Path dir) throws Exception {
+		Files.createDirectories(dir.resolve("b/nested"));
+		copy("spotify.txt", dir.resolve("b/nested/3.txt"));
+		copy("covid-19.txt", dir.resolve("a.txt"));
+		copy("athex.txt", dir.resolve("b/2.txt"));
+		copy("spotify.txt", dir.resolve("c.txt"));
+		StringBuilder concatenated = new StringBuilder();
+		for (String file : new String[]{"covid-19.txt", "athex.txt", "spotify.txt", "spotify.txt"}) {
+			concatenated.append(read(file)).append(' ');
+		}
+
+		DirectoryWordSource source = new DirectoryWordSource(dir, 3);
+		assertEquals(Arrays.asList(dir.resolve("a.txt"), dir.resolve("b/2.txt"), dir.resolve("b/nested/3.txt"),
+				dir.resolve("c.txt")), source.files());
+		assertEquals(WordExtractor.uniqueWords(concatenated.toString()),
+				WordExtractor.wordTable(source, WordExtractor.NO_LIMIT).toList());
+		assertTrue(WordSource.of(dir) instanceof DirectoryWordSource);
+	}
+
+	@Test
+	public void stopsWhenHandlerReturnsFalse(@TempDir Path dir) throws Exception {
+		for (int i = 0; i < 10; i++) {
+			Files.write(dir.resolve(i + ".txt"), ("alpha" + i + " bravo" + i).getBytes(StandardCharsets.UTF_8));
+		}
+		List<String> words = new ArrayList<>();
+		new DirectoryWordSource(dir, 2).forEachWord((chars, offset, length, charSum) -> {
+			words.add(new String(chars, offset, length));
+			return words.size() < 3;
+		});
+		assertEquals(Arrays.asList("alpha0", "bravo0", "alpha1"), words);
+	}
+
+	private static void copy(String resource, Path target) throws Exception {
+		Files.copy(Paths.get(BASE_PATH, resource), target);
+	}
+
+	private static String read(String resource) throws Exception {
+		return new String(Files.readAllBytes(Paths.get(BASE_PATH, resource)), StandardCharsets.UTF_8);
+	}
+}
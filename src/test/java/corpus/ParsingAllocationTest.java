@@ -0,0 +1,49 @@
+package corpus;
+
+import metrics.AllocationMeter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/*
+ * Allocation budgets of tokenizing a corpus, in bytes per call, set a little above what the current code allocates.
+ */
+public class ParsingAllocationTest {
+	private static final String BASE_PATH = "src/test/resources";
+	private static final int WARMUP_CALLS = 200;
+	private static final int MEASURED_CALLS = 200;
+
+	// Above the one scratch chunk of tokenize(String), whose size follows the text.
+	private static final long TOKENIZE_OVERHEAD_BUDGET = 64;
+	// The table's arrays at their initial sizes, about 8.7 KB today.
+	private static final long WORD_TABLE_BUDGET = 12_288;
+
+	private static String corpus;
+
+	@BeforeAll
+	public static void setUp() throws Exception {
+		AllocationMeter.assumeSupported();
+		corpus = new String(Files.readAllBytes(Paths.get(BASE_PATH, "spotify.txt")), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void tokenizeStaysWithinBudget() throws Exception {
+		StreamingTokenizer tokenizer = new StreamingTokenizer();
+		int[] words = new int[1];
+		long chunkBytes = (long) Character.BYTES * Math.min(StreamingTokenizer.DEFAULT_CHUNK_SIZE, corpus.length());
+		AllocationMeter.assertWithinBudget("StreamingTokenizer.tokenize", chunkBytes + TOKENIZE_OVERHEAD_BUDGET,
+				WARMUP_CALLS, MEASURED_CALLS, () -> {
+					tokenizer.tokenize(corpus, (chars, offset, length, charSum) -> ++words[0] > 0);
+					return words;
+				});
+	}
+
+	@Test
+	public void wordTableStaysWithinBudget() throws Exception {
+		AllocationMeter.assertWithinBudget("WordExtractor.wordTable", WORD_TABLE_BUDGET, WARMUP_CALLS,
+				MEASURED_CALLS, () -> WordExtractor.wordTable(corpus, WordExtractor.NO_LIMIT));
+	}
+}
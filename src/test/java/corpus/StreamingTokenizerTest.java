@@ -0,0 +1,99 @@
+package corpus;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingTokenizerTest {
+	private static final String BASE_PATH = "src/test/resources";
+
+	@Test
+	public void splitsOnAnyWhitespace() {
+		List<String> words = tokenize(new StreamingTokenizer(), "alpha\tbravo\ncharlie\r\n  delta  echo");
+		assertEquals(Arrays.asList("alpha", "bravo", "charlie", "delta"), words);
+	}
+
+	@Test
+	public void skipsShortAndNonAsciiWords() {
+		List<String> words = tokenize(new StreamingTokenizer(), "short tiny England’s cafés plain");
+		assertEquals(Arrays.asList("short", "plain"), words);
+	}
+
+	@Test
+	public void sameWordsForEveryChunkSize() throws Exception {
+		String text = readFile(BASE_PATH + "/spotify.txt");
+		List<String> expected = Arrays.stream(text.split("\\s+"))
+				.filter(w -> w.length() >= WordExtractor.MIN_WORD_LENGTH && w.chars().allMatch(c -> c < 128))
+				.collect(Collectors.toList());
+		for (int chunkSize = 1; chunkSize <= 64; chunkSize++) {
+			assertEquals(expected, tokenize(new StreamingTokenizer(chunkSize), text), "chunk size " + chunkSize);
+			List<String> fromReader = new ArrayList<>();
+			new StreamingTokenizer(chunkSize).tokenize(new StringReader(text), collectInto(fromReader));
+			assertEquals(expected, fromReader, "reader chunk size " + chunkSize);
+		}
+	}
+
+	@Test
+	public void mappedFileMatchesText(@TempDir Path dir) throws Exception {
+		String text = readFile(BASE_PATH + "/covid-19.txt") + " élèves trailing";
+		Path file = dir.resolve("corpus.txt");
+		Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+		for (int chunkSize = 1; chunkSize <= 16; chunkSize++) {
+			List<String> fromFile = new ArrayList<>();
+			new StreamingTokenizer(chunkSize).tokenize(file, collectInto(fromFile));
+			assertEquals(tokenize(new StreamingTokenizer(), text), fromFile, "chunk size " + chunkSize);
+		}
+	}
+
+	@Test
+	public void dropsTokensLongerThanMaximumWordLength() {
+		StringBuilder longest = new StringBuilder();
+		for (int i = 0; i < WordExtractor.MAX_WORD_LENGTH; i++) {
+			longest.append('a');
+		}
+		StringBuilder run = new StringBuilder();
+		for (int i = 0; i < 100_000; i++) {
+			run.append('x');
+		}
+		String text = "alpha " + longest + " " + longest + "b " + run + " bravo" + run;
+		List<String> expected = Arrays.asList("alpha", longest.toString());
+		for (int chunkSize : new int[]{1, 7, 64, StreamingTokenizer.DEFAULT_CHUNK_SIZE, text.length()}) {
+			assertEquals(expected, tokenize(new StreamingTokenizer(chunkSize), text), "chunk size " + chunkSize);
+		}
+	}
+
+	@Test
+	public void stopsWhenHandlerReturnsFalse() {
+		List<String> words = new ArrayList<>();
+		new StreamingTokenizer(4).tokenize("alpha bravo charlie delta", (chars, offset, length, charSum) -> {
+			words.add(new String(chars, offset, length));
+			return words.size() < 2;
+		});
+		assertEquals(Arrays.asList("alpha", "bravo"), words);
+	}
+
+	private List<String> tokenize(StreamingTokenizer tokenizer, String text) {
+		List<String> words = new ArrayList<>();
+		tokenizer.tokenize(text, collectInto(words));
+		return words;
+	}
+
+	private WordHandler collectInto(List<String> words) {
+		return (chars, offset, length, charSum) -> words.add(new String(chars, offset, length));
+	}
+
+	private String readFile(String path) throws Exception {
+		return new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+	}
+}
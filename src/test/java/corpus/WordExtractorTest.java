@@ -0,0 +1,57 @@
+package corpus;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordExtractorTest {
+
+	@Test
+	public void keepsFirstOccurrenceOrder() {
+		List<String> words = WordExtractor.uniqueWords("bravo alpha bravo charlie alpha delta");
+		assertEquals(Arrays.asList("bravo", "alpha", "charlie", "delta"), words);
+	}
+
+	@Test
+	public void stopsOnceLimitIsReached() throws IOException {
+		StringBuilder text = new StringBuilder("bravo alpha bravo charlie ");
+		for (int i = 0; i < 100_000; i++) {
+			text.append("delta ");
+		}
+		assertEquals(Arrays.asList("bravo", "alpha", "charlie"), WordExtractor.uniqueWords(text.toString(), 3));
+
+		// The qualifying filler is never scanned: reading stops within the chunk holding the third word.
+		long[] charsRead = {0};
+		Reader reader = new FilterReader(new StringReader(text.toString())) {
+			@Override
+			public int read(char[] buffer, int offset, int length) throws IOException {
+				int read = super.read(buffer, offset, length);
+				charsRead[0] += Math.max(read, 0);
+				return read;
+			}
+		};
+		assertEquals(Arrays.asList("bravo", "alpha", "charlie"), WordExtractor.uniqueWords(reader, 3));
+		assertTrue(charsRead[0] <= StreamingTokenizer.DEFAULT_CHUNK_SIZE, charsRead[0] + " chars read");
+	}
+
+	@Test
+	public void returnsFewerWordsWhenCorpusIsShort() {
+		assertEquals(Arrays.asList("bravo", "alpha"), WordExtractor.uniqueWords("bravo alpha bravo", 8));
+		assertTrue(WordExtractor.uniqueWords("bravo alpha", 0).isEmpty());
+	}
+
+	@Test
+	public void stopsWhenAskedTo() {
+		int[] calls = {0};
+		List<String> words = WordExtractor.uniqueWords("bravo alpha charlie delta", WordExtractor.NO_LIMIT,
+				() -> ++calls[0] > 2);
+		assertEquals(Arrays.asList("bravo", "alpha"), words);
+	}
+}
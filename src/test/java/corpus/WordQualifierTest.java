@@ -0,0 +1,23 @@
+package corpus;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordQualifierTest {
+
+	@Test
+	public void sumsCharCodesOfQualifyingWords() {
+		assertEquals('M' + 'a' + 'r' + 'k' + 'e' + 't', WordQualifier.charSum("Market"));
+		char[] chars = " Market ".toCharArray();
+		assertEquals(WordQualifier.charSum("Market"), WordQualifier.charSum(chars, 1, 6));
+	}
+
+	@Test
+	public void rejectsShortAndNonAsciiWords() {
+		assertEquals(WordQualifier.NOT_QUALIFIED, WordQualifier.charSum("Main"));
+		assertEquals(WordQualifier.NOT_QUALIFIED, WordQualifier.charSum("England’s"));
+		assertEquals(WordQualifier.NOT_QUALIFIED, WordQualifier.charSum("caf\u0080e"));
+		assertTrue(WordQualifier.isQualified("abc\u007Fd"));
+	}
+}
@@ -0,0 +1,60 @@
+package corpus;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordTableTest {
+	private static final String BASE_PATH = "src/test/resources";
+
+	@Test
+	public void keepsFirstOccurrenceOrderAndCharSums() {
+		WordTable table = WordExtractor.wordTable("bravo alpha bravo charlie alpha delta", WordExtractor.NO_LIMIT);
+		assertEquals(Arrays.asList("bravo", "alpha", "charlie", "delta"), table.toList());
+		for (int i = 0; i < table.size(); i++) {
+			assertEquals(WordQualifier.charSum(table.word(i)), table.charSum(i));
+			assertEquals(table.word(i), new String(table.getArena(), table.offset(i), table.length(i)));
+		}
+		assertEquals(2, table.indexOf("charlie"));
+		assertEquals(-1, table.indexOf("echo1"));
+		assertThrows(IndexOutOfBoundsException.class, () -> table.word(4));
+	}
+
+	@Test
+	public void matchesLinkedHashSetAcrossGrowth() throws Exception {
+		String text = new String(Files.readAllBytes(Paths.get(BASE_PATH + "/spotify.txt")), StandardCharsets.UTF_8);
+		StringBuilder corpus = new StringBuilder(text);
+		for (int i = 0; i < 20_000; i++) {
+			corpus.append(" word").append(i % 5_000);
+		}
+		LinkedHashSet<String> expected = new LinkedHashSet<>();
+		new StreamingTokenizer().tokenize(corpus.toString(),
+				(chars, offset, length, charSum) -> expected.add(new String(chars, offset, length)) || true);
+
+		WordTable table = WordExtractor.wordTable(corpus.toString(), WordExtractor.NO_LIMIT);
+		assertEquals(new ArrayList<>(expected), table.toList());
+		int index = 0;
+		for (String word : expected) {
+			char[] chars = (" " + word).toCharArray();
+			assertEquals(index, table.add(chars, 1, word.length(), 0));
+			assertEquals(index++, table.indexOf(word));
+		}
+		assertEquals(expected.size(), table.size());
+	}
+
+	@Test
+	public void stopsOnceLimitIsReached() {
+		WordTable table = WordExtractor.wordTable("bravo alpha bravo charlie delta", 3);
+		assertEquals(Arrays.asList("bravo", "alpha", "charlie"), table.toList());
+		List<String> none = WordExtractor.wordTable("bravo alpha", 0).toList();
+		assertTrue(none.isEmpty());
+	}
+}
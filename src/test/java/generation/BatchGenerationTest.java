@@ -0,0 +1,55 @@
+package generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchGenerationTest {
+	private static final char[] SPECIAL_CHARS = {'$', '#', '@', '!', '%', '-', '_'};
+
+	@Test
+	public void batchMatchesSingleGenerations() throws Exception {
+		List<GenerationSpec> specs = specs();
+		IGenerator reference = new Generator();
+		for (IGenerator generator : new IGenerator[]{new Generator(), new PrimitiveGenerator()}) {
+			BatchResult result = generator.generateBatch(specs);
+			assertEquals(specs.size(), result.size());
+			for (int i = 0; i < specs.size(); i++) {
+				GenerationSpec spec = specs.get(i);
+				assertEquals(spec.getLength(), result.length(i));
+				assertArrayEquals(reference.generate(spec.getLength(), spec.getSpecialChars(), spec.getUniqueWords()),
+						result.get(i), generator.getClass().getSimpleName() + " spec " + i);
+			}
+		}
+	}
+
+	@Test
+	public void resultsAreLaidOutBackToBack() throws Exception {
+		BatchResult result = new PrimitiveGenerator().generateBatch(specs());
+		int offset = 0;
+		for (int i = 0; i < result.size(); i++) {
+			assertEquals(offset, result.offset(i));
+			offset += result.length(i);
+		}
+		assertEquals(offset, result.getBuffer().length);
+	}
+
+	private List<GenerationSpec> specs() {
+		List<String> words = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			words.add("corpus" + (i * 37));
+		}
+		List<GenerationSpec> specs = new ArrayList<>();
+		for (int length = 8; length <= 20; length++) {
+			for (int specialCharsNo = 3; specialCharsNo <= Math.min(SPECIAL_CHARS.length, length - 4); specialCharsNo++) {
+				specs.add(new GenerationSpec(length, Arrays.copyOf(SPECIAL_CHARS, specialCharsNo),
+						words.subList(length % 5, length % 5 + length)));
+			}
+		}
+		return specs;
+	}
+}
@@ -0,0 +1,138 @@
+package generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingGeneratorTest {
+	private static final List<String> WORDS = Arrays.asList("Market", "mainly", "addresses", "medium",
+			"capitalization", "companies", "growth", "prospects");
+	private static final char[] SPECIAL_CHARS = {'$', '#', '@', '!'};
+
+	@Test
+	public void returnsDelegateResultsAndCountsHits() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CachingGenerator cached = new CachingGenerator.Builder().withGenerator(counting(calls)).build();
+		String expected = new String(new Generator().generate(8, SPECIAL_CHARS, WORDS));
+
+		assertEquals(expected, new String(cached.generate(8, SPECIAL_CHARS, WORDS)));
+		assertEquals(expected, new String(cached.generate(8, SPECIAL_CHARS, new ArrayList<>(WORDS))));
+		assertEquals(1, calls.get());
+		assertEquals(1, cached.getHitsNo());
+		assertEquals(1, cached.getMissesNo());
+		assertEquals(0.5, cached.getHitRate());
+
+		// Any change of input is a different key.
+		cached.generate(8, new char[]{'$', '#', '@', '%'}, WORDS);
+		cached.generate(8, SPECIAL_CHARS, Arrays.asList("Market", "mainly", "addresses", "medium",
+				"capitalization", "companies", "growth", "prospect"));
+		assertEquals(3, calls.get());
+		assertEquals(3, cached.size());
+	}
+
+	@Test
+	public void returnsCopiesTheCallerOwns() throws Exception {
+		CachingGenerator cached = new CachingGenerator.Builder().withGenerator(new Generator()).build();
+		char[] first = cached.generate(8, SPECIAL_CHARS, WORDS);
+		String expected = new String(first);
+		Arrays.fill(first, '\0');
+		assertEquals(expected, new String(cached.generate(8, SPECIAL_CHARS, WORDS)));
+	}
+
+	@Test
+	public void doesNotCacheFailures() {
+		CachingGenerator cached = new CachingGenerator.Builder().withGenerator((length, specialChars, uniqueWords) -> {
+			throw new IllegalStateException("too few words");
+		}).build();
+		assertThrows(IllegalStateException.class, () -> cached.generate(8, SPECIAL_CHARS, WORDS));
+		assertEquals(0, cached.size());
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedBeyondMaximumSize() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CachingGenerator cached = new CachingGenerator.Builder().withGenerator(counting(calls))
+				.withMaximumSize(2).withStripes(1).build();
+		List<String> other = WORDS.subList(0, 7);
+		List<String> third = WORDS.subList(1, 8);
+		cached.generate(8, SPECIAL_CHARS, WORDS);
+		cached.generate(7, SPECIAL_CHARS, other);
+		cached.generate(8, SPECIAL_CHARS, WORDS);
+		cached.generate(7, SPECIAL_CHARS, third);
+		assertEquals(2, cached.size());
+		assertEquals(1, cached.getEvictionsNo());
+
+		// WORDS was used more recently than other, so other went.
+		cached.generate(8, SPECIAL_CHARS, WORDS);
+		assertEquals(3, calls.get());
+		cached.generate(7, SPECIAL_CHARS, other);
+		assertEquals(4, calls.get());
+	}
+
+	@Test
+	public void evictsBeyondMaximumWeight() throws Exception {
+		CachingGenerator cached = new CachingGenerator.Builder().withGenerator(new Generator())
+				.withMaximumWeight(250).withStripes(1).build();
+		cached.generate(8, SPECIAL_CHARS, WORDS);
+		cached.generate(7, SPECIAL_CHARS, WORDS.subList(0, 7));
+		long weight = cached.getWeight();
+		cached.generate(7, SPECIAL_CHARS, WORDS.subList(1, 8));
+		assertEquals(2, cached.size());
+		assertTrue(cached.getWeight() <= 250);
+		assertTrue(weight <= 250);
+		assertEquals(1, cached.getEvictionsNo());
+	}
+
+	@Test
+	public void doesNotCacheEntriesHeavierThanMaximumWeight() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CachingGenerator cached = new CachingGenerator.Builder().withGenerator(counting(calls))
+				.withMaximumWeight(100).withStripes(1).build();
+		String expected = new String(new Generator().generate(8, SPECIAL_CHARS, WORDS));
+		assertEquals(expected, new String(cached.generate(8, SPECIAL_CHARS, WORDS)));
+		assertEquals(expected, new String(cached.generate(8, SPECIAL_CHARS, WORDS)));
+		assertEquals(2, calls.get());
+		assertEquals(0, cached.size());
+		assertEquals(0, cached.getWeight());
+		assertEquals(0, cached.getEvictionsNo());
+	}
+
+	@Test
+	public void isSafeToShareBetweenThreads() throws Exception {
+		CachingGenerator cached = new CachingGenerator.Builder().withGenerator(new ParallelGenerator())
+				.withMaximumSize(4).build();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 400; i++) {
+				int length = 7 + i % 2;
+				results.add(executor.submit(() -> new String(cached.generate(length, SPECIAL_CHARS,
+						WORDS.subList(0, length)))));
+			}
+			String seven = new String(new Generator().generate(7, SPECIAL_CHARS, WORDS.subList(0, 7)));
+			String eight = new String(new Generator().generate(8, SPECIAL_CHARS, WORDS));
+			for (int i = 0; i < results.size(); i++) {
+				assertEquals(i % 2 == 0 ? seven : eight, results.get(i).get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(400, cached.getHitsNo() + cached.getMissesNo());
+	}
+
+	private static IGenerator counting(AtomicInteger calls) {
+		Generator generator = new Generator();
+		return (length, specialChars, uniqueWords) -> {
+			calls.incrementAndGet();
+			return generator.generate(length, specialChars, uniqueWords);
+		};
+	}
+}
@@ -0,0 +1,41 @@
+package generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DigestCacheTest {
+
+	@Test
+	public void returnsSameDigestForRepeatedWords() {
+		DigestCache cache = new DigestCache(4);
+		WordDigest digest = cache.get("Market");
+		assertSame(digest, cache.get("Market"));
+		assertEquals(WordDigest.of("Market").getLetterIdx(), digest.getLetterIdx());
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedWords() {
+		DigestCache cache = new DigestCache(2);
+		WordDigest first = cache.get("alpha");
+		cache.get("bravo");
+		cache.get("alpha");
+		cache.get("charlie");
+		assertEquals(2, cache.size());
+		assertSame(first, cache.get("alpha"));
+	}
+
+	@Test
+	public void cachedGeneratorMatchesGenerator() throws Exception {
+		List<String> words = Arrays.asList("Market", "mainly", "addresses", "medium", "capitalization",
+				"companies", "growth", "prospects");
+		char[] specialChars = {'$', '#', '@', '!'};
+		IGenerator cached = new Generator(new DigestCache(4));
+		String expected = new String(new Generator().generate(8, specialChars, words));
+		assertEquals(expected, new String(cached.generate(8, specialChars, words)));
+		assertEquals(expected, new String(cached.generate(8, specialChars, words)));
+	}
+}
@@ -0,0 +1,55 @@
+package generation;
+
+import corpus.WordExtractor;
+import metrics.AllocationMeter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+/*
+ * Allocation budgets of the generators, in bytes per call, set a little above what the current code allocates.
+ */
+public class GeneratorAllocationTest {
+	private static final String BASE_PATH = "src/test/resources";
+	private static final int LENGTH = 12;
+	private static final char[] SPECIAL_CHARS = {'$', '#', '@', '!'};
+	private static final int WARMUP_CALLS = 20_000;
+	private static final int MEASURED_CALLS = 20_000;
+
+	// Streams and boxed collections of the digest-based generator, about 3.1 KB today.
+	private static final long GENERATOR_BUDGET = 4096;
+	// The returned password only, 40 bytes for 12 chars.
+	private static final long PRIMITIVE_GENERATOR_BUDGET = 64;
+	private static final long PRIMITIVE_GENERATE_INTO_BUDGET = 0;
+
+	private static List<String> uniqueWords;
+
+	@BeforeAll
+	public static void setUp() throws Exception {
+		AllocationMeter.assumeSupported();
+		uniqueWords = WordExtractor.uniqueWords(Paths.get(BASE_PATH, "spotify.txt"), LENGTH);
+	}
+
+	@Test
+	public void generatorStaysWithinBudget() throws Exception {
+		Generator generator = new Generator();
+		AllocationMeter.assertWithinBudget("Generator.generate", GENERATOR_BUDGET, WARMUP_CALLS, MEASURED_CALLS,
+				() -> generator.generate(LENGTH, SPECIAL_CHARS, uniqueWords));
+	}
+
+	@Test
+	public void primitiveGeneratorStaysWithinBudget() throws Exception {
+		PrimitiveGenerator generator = new PrimitiveGenerator();
+		AllocationMeter.assertWithinBudget("PrimitiveGenerator.generate", PRIMITIVE_GENERATOR_BUDGET, WARMUP_CALLS,
+				MEASURED_CALLS, () -> generator.generate(LENGTH, SPECIAL_CHARS, uniqueWords));
+
+		char[] out = new char[LENGTH];
+		AllocationMeter.assertWithinBudget("PrimitiveGenerator.generateInto", PRIMITIVE_GENERATE_INTO_BUDGET,
+				WARMUP_CALLS, MEASURED_CALLS, () -> {
+					generator.generateInto(LENGTH, SPECIAL_CHARS, uniqueWords, out, 0);
+					return out;
+				});
+	}
+}
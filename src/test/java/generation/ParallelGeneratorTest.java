@@ -0,0 +1,66 @@
+package generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelGeneratorTest {
+	private static final char[] SPECIAL_CHARS = {'$', '#', '@', '!', '%'};
+
+	@Test
+	public void batchMatchesSequentialRun() throws Exception {
+		List<String> words = words(500);
+		List<GenerationSpec> specs = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			int length = 9 + i % 12;
+			int from = (i * 7) % (words.size() - length);
+			specs.add(new GenerationSpec(length, SPECIAL_CHARS, words.subList(from, from + length)));
+		}
+		BatchResult sequential = new PrimitiveGenerator().generateBatch(specs);
+		for (int parallelism : new int[]{1, 3, 8}) {
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				BatchResult parallel = new ParallelGenerator(pool).generateBatch(specs);
+				assertArrayEquals(sequential.getBuffer(), parallel.getBuffer(), "parallelism " + parallelism);
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	@Test
+	public void windowsMatchSlidingWindowGenerator() throws Exception {
+		List<String> words = words(2000);
+		StringBuilder expected = new StringBuilder();
+		SlidingWindowGenerator windows = new SlidingWindowGenerator(16, SPECIAL_CHARS,
+				(chars, offset, length) -> expected.append(chars, offset, length) != null);
+		for (String word : words) {
+			windows.onUniqueWord(WordDigest.getSumOfAsciiCodesOfAWord(word));
+		}
+		BatchResult parallel = new ParallelGenerator().generateWindows(words, 16, SPECIAL_CHARS);
+		assertEquals(words.size() - 15, parallel.size());
+		assertEquals(expected.toString(), new String(parallel.getBuffer()));
+	}
+
+	@Test
+	public void rethrowsGenerationFailures() {
+		List<GenerationSpec> specs = Arrays.asList(
+				new GenerationSpec(8, SPECIAL_CHARS, words(8)),
+				new GenerationSpec(8, SPECIAL_CHARS, words(5)));
+		Exception e = assertThrows(Exception.class, () -> new ParallelGenerator().generateBatch(specs));
+		assertEquals("Not enough words for 5 special characters", e.getMessage());
+	}
+
+	private List<String> words(int count) {
+		List<String> words = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			words.add("corpus" + (i * 131));
+		}
+		return words;
+	}
+}
@@ -0,0 +1,104 @@
+package generation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveGeneratorTest {
+	private static final int WORD_MIN_SIZE = 5;
+	private static final String BASE_PATH = "src/test/resources";
+	private static final String SPACE_SEPARATOR = " ";
+	private static final int MAX_LONG_PASSWORD_LENGTH = 65536;
+	private static final char[] ALL_SPECIAL_CHARS = {'$', '#', '@', '!', '%', '-', '_', '&', '*', '+', '=', '?', '~',
+			'^', '<', '>'};
+	private IGenerator primitiveGenerator;
+	private IGenerator referenceGenerator;
+
+	@BeforeEach
+	public void setUp() {
+		primitiveGenerator = new PrimitiveGenerator();
+		referenceGenerator = new Generator();
+	}
+
+	@Test
+	public void generateValidPWD1() throws Exception {
+		List<String> uniqueWords = readUniqueWords(BASE_PATH + "/athex.txt", 8);
+		char[] actual = primitiveGenerator.generate(8, new char[]{'$', '#', '@', '!'}, uniqueWords);
+		assertEquals("2Kv@K!$#", new String(actual));
+	}
+
+	@Test
+	public void generateValidPWD2() throws Exception {
+		List<String> uniqueWords = readUniqueWords(BASE_PATH + "/covid-19.txt", 12);
+		char[] actual = primitiveGenerator.generate(12, new char[]{'$', '#', '@', '!'}, uniqueWords);
+		assertEquals("154#!M@$rrSt", new String(actual));
+	}
+
+	@Test
+	public void matchesGeneratorForAllLengthsAndSpecialChars() throws Exception {
+		for (String file : new String[]{"athex.txt", "covid-19.txt", "spotify.txt"}) {
+			for (int length = 8; length <= 20; length++) {
+				List<String> uniqueWords = readUniqueWords(BASE_PATH + "/" + file, length);
+				if (uniqueWords.size() < length) {
+					continue;
+				}
+				for (int specialCharsNo = 3; specialCharsNo <= length - 4; specialCharsNo++) {
+					char[] specialChars = Arrays.copyOf(ALL_SPECIAL_CHARS, specialCharsNo);
+					assertEquals(new String(referenceGenerator.generate(length, specialChars, uniqueWords)),
+							new String(primitiveGenerator.generate(length, specialChars, uniqueWords)),
+							file + " length " + length + " special chars " + specialCharsNo);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void matchesGeneratorForLongPasswords() throws Exception {
+		List<String> uniqueWords = new ArrayList<>();
+		for (int i = 0; i < MAX_LONG_PASSWORD_LENGTH; i++) {
+			uniqueWords.add("word" + i);
+		}
+		char[] specialChars = Arrays.copyOf(ALL_SPECIAL_CHARS, 16);
+		for (int length : new int[]{21, 1000, MAX_LONG_PASSWORD_LENGTH}) {
+			char[] expected = referenceGenerator.generateLong(length, specialChars, uniqueWords);
+			assertEquals(length, expected.length);
+			assertArrayEquals(expected, primitiveGenerator.generateLong(length, specialChars, uniqueWords));
+		}
+		// More chars than words, or no word left over from the special chars.
+		assertThrows(IllegalArgumentException.class, () -> primitiveGenerator
+				.generateLong(MAX_LONG_PASSWORD_LENGTH + 1, specialChars, uniqueWords));
+		assertThrows(IllegalArgumentException.class, () -> primitiveGenerator
+				.generateLong(specialChars.length, specialChars, uniqueWords));
+	}
+
+	@Test
+	public void failsWhenNoWordsAreLeftForNumbers() {
+		List<String> uniqueWords = Arrays.asList("alpha", "bravo", "charlie");
+		assertThrows(Exception.class,
+				() -> primitiveGenerator.generate(8, new char[]{'$', '#', '@'}, uniqueWords));
+	}
+
+	private List<String> readUniqueWords(String path, int passwordLength) throws Exception {
+		String textInput = readFile(path, StandardCharsets.UTF_8);
+		return Arrays.stream(textInput.split(SPACE_SEPARATOR))
+				.distinct()
+				.filter(w -> w.length() >= WORD_MIN_SIZE)
+				.limit(passwordLength)
+				.collect(Collectors.toList());
+	}
+
+	private String readFile(String path, Charset encoding) throws Exception {
+		byte[] encoded = Files.readAllBytes(Paths.get(path));
+		return new String(encoded, encoding);
+	}
+}
@@ -0,0 +1,55 @@
+package generation;
+
+import corpus.StreamingTokenizer;
+import corpus.WordExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlidingWindowGeneratorTest {
+	private static final String BASE_PATH = "src/test/resources";
+	private static final char[] SPECIAL_CHARS = {'$', '#', '@', '!'};
+
+	@Test
+	public void everyWindowMatchesGenerator() throws Exception {
+		String text = new String(Files.readAllBytes(Paths.get(BASE_PATH + "/spotify.txt")), StandardCharsets.UTF_8);
+		List<String> uniqueWords = WordExtractor.uniqueWords(text);
+		IGenerator reference = new Generator();
+		for (int windowSize : new int[]{8, 12, 20}) {
+			List<String> passwords = new ArrayList<>();
+			SlidingWindowGenerator windows = new SlidingWindowGenerator(windowSize, SPECIAL_CHARS,
+					(chars, offset, length) -> passwords.add(new String(chars, offset, length)));
+			new StreamingTokenizer(16).tokenize(text, windows);
+
+			assertEquals(uniqueWords.size() - windowSize + 1, passwords.size());
+			assertEquals(passwords.size(), windows.getWindowsNo());
+			for (int i = 0; i < passwords.size(); i++) {
+				String expected = new String(reference.generate(windowSize, SPECIAL_CHARS,
+						uniqueWords.subList(i, i + windowSize)));
+				assertEquals(expected, passwords.get(i), "window " + i + " of size " + windowSize);
+			}
+		}
+	}
+
+	@Test
+	public void stopsWhenHandlerReturnsFalse() {
+		List<String> passwords = new ArrayList<>();
+		SlidingWindowGenerator windows = new SlidingWindowGenerator(8, SPECIAL_CHARS, (chars, offset, length) -> {
+			passwords.add(new String(chars, offset, length));
+			return passwords.size() < 3;
+		});
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			text.append("word").append(i).append(' ');
+		}
+		new StreamingTokenizer().tokenize(text.toString(), windows);
+		assertEquals(3, passwords.size());
+		assertEquals(10, windows.getUniqueWordsNo());
+	}
+}
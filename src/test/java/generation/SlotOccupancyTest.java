@@ -0,0 +1,27 @@
+package generation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlotOccupancyTest {
+
+	@Test
+	public void claimsNextFreeSlotAndWrapsAround() {
+		SlotOccupancy slots = new SlotOccupancy(4);
+		assertEquals(2, slots.claim(2));
+		assertEquals(3, slots.claim(2));
+		assertEquals(0, slots.claim(3));
+		assertEquals(1, slots.claim(3));
+		assertThrows(IllegalStateException.class, () -> slots.claim(0));
+	}
+
+	@Test
+	public void resetFreesAllSlots() {
+		SlotOccupancy slots = new SlotOccupancy(4);
+		slots.claim(1);
+		slots.reset(8);
+		assertEquals(1, slots.claim(1));
+		assertEquals(7, slots.claim(7));
+	}
+}
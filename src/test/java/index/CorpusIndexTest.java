@@ -0,0 +1,78 @@
+package index;
+
+import corpus.WordExtractor;
+import corpus.WordQualifier;
+import generation.WordDigest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CorpusIndexTest {
+	private static final String BASE_PATH = "src/test/resources";
+
+	@Test
+	public void roundTripsWordsAndDigests(@TempDir Path tempDir) throws Exception {
+		Path corpus = Paths.get(BASE_PATH, "spotify.txt");
+		Path file = tempDir.resolve("spotify.pwci");
+		new CorpusIndex.Builder().addCorpus(corpus).write(file);
+
+		List<String> expected = WordExtractor.uniqueWords(corpus);
+		assertTrue(CorpusIndex.isIndex(file));
+		assertFalse(CorpusIndex.isIndex(corpus));
+		CorpusIndex index = CorpusIndex.open(file);
+		assertEquals(expected.size(), index.size());
+		assertEquals(expected, index.words(0, index.size()));
+		int[] charSums = index.charSums(0, index.size());
+		int[] digitSums = index.digitSums(0, index.size());
+		for (int i = 0; i < index.size(); i++) {
+			int charSum = WordQualifier.charSum(expected.get(i));
+			assertEquals(charSum, index.charSum(i));
+			assertEquals(charSum, charSums[i]);
+			assertEquals(WordDigest.ofCharSum(charSum).getDigitSum(), index.digitSum(i));
+			assertEquals(index.digitSum(i), digitSums[i]);
+			assertEquals(expected.get(i).length(), index.length(i));
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> index.charSums(1, index.size()));
+	}
+
+	@Test
+	public void deduplicatesAcrossCorpora(@TempDir Path tempDir) throws Exception {
+		Path file = tempDir.resolve("merged.pwci");
+		new CorpusIndex.Builder().addCorpus("bravo alpha bravo").addCorpus("charlie alpha delta").write(file);
+		CorpusIndex index = CorpusIndex.open(file);
+		assertEquals(Arrays.asList("bravo", "alpha", "charlie", "delta"), index.words(0, index.size()));
+	}
+
+	@Test
+	public void rejectsCorruptFiles(@TempDir Path tempDir) throws Exception {
+		Path file = tempDir.resolve("corrupt.pwci");
+		new CorpusIndex.Builder().addCorpus("bravo alpha charlie").write(file);
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+		assertThrows(IOException.class, () -> CorpusIndex.open(file));
+		Files.write(file, "bravo alpha charlie".getBytes());
+		assertThrows(IOException.class, () -> CorpusIndex.open(file));
+	}
+
+	@Test
+	public void readsTextStartingWithTheMagicAsText(@TempDir Path tempDir) throws Exception {
+		Path text = tempDir.resolve("pwci.txt");
+		Files.write(text, "PWCI bravo alpha charlie delta echoes foxtrot golfer hotel".getBytes());
+		assertFalse(CorpusIndex.isIndex(text));
+
+		Path file = tempDir.resolve("truncated.pwci");
+		new CorpusIndex.Builder().addCorpus("bravo alpha charlie").write(file);
+		assertTrue(CorpusIndex.isIndex(file));
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+		assertFalse(CorpusIndex.isIndex(file));
+	}
+}
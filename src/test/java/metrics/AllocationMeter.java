@@ -0,0 +1,58 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/*
+ * Fails a test when a hot call allocates more than its budget, so streams, boxing or copies creeping back into
+ * generation or parsing show up as a test failure rather than as GC load in production. Bytes are counted per thread
+ * by the JVM after a warmup that lets the JIT compile and eliminate what it can, then averaged over many calls.
+ */
+public final class AllocationMeter {
+
+	// Every result is folded in here, so the JIT cannot drop the calls as dead code.
+	private static volatile int sink;
+
+	@FunctionalInterface
+	public interface Call {
+		Object run() throws Exception;
+	}
+
+	private AllocationMeter() {
+	}
+
+	// Skips the calling test on JVMs that cannot count allocations per thread.
+	public static void assumeSupported() {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+				"Per-thread allocation counting needs a HotSpot-compatible JVM");
+		com.sun.management.ThreadMXBean threads = threads();
+		assumeTrue(threads.isThreadAllocatedMemorySupported(), "Per-thread allocation counting is not supported");
+		threads.setThreadAllocatedMemoryEnabled(true);
+	}
+
+	public static void assertWithinBudget(String name, long budgetBytes, int warmupCalls, int measuredCalls,
+										  Call call) throws Exception {
+		long bytesPerCall = bytesPerCall(warmupCalls, measuredCalls, call);
+		assertTrue(bytesPerCall <= budgetBytes, name + " allocated " + bytesPerCall + " bytes per call, budget is "
+				+ budgetBytes + " bytes");
+	}
+
+	public static long bytesPerCall(int warmupCalls, int measuredCalls, Call call) throws Exception {
+		com.sun.management.ThreadMXBean threads = threads();
+		for (int i = 0; i < warmupCalls; i++) {
+			sink += call.run().hashCode();
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < measuredCalls; i++) {
+			sink += call.run().hashCode();
+		}
+		return (threads.getThreadAllocatedBytes(threadId) - before) / measuredCalls;
+	}
+
+	private static com.sun.management.ThreadMXBean threads() {
+		return (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	}
+}
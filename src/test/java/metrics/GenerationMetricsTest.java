@@ -0,0 +1,105 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenerationMetricsTest {
+
+	@Test
+	public void bucketsCoverEveryValueWithinAnEighth() {
+		assertBucketsCoverEveryValue(LatencyHistogram.DEFAULT_SUB_BUCKET_BITS);
+	}
+
+	@Test
+	public void finerBucketsCoverEveryValueWithinTheirPrecision() {
+		assertBucketsCoverEveryValue(7);
+		assertBucketsCoverEveryValue(LatencyHistogram.MAX_SUB_BUCKET_BITS);
+	}
+
+	@Test
+	public void addsSnapshotsOfTheSamePrecision() {
+		LatencyHistogram first = new LatencyHistogram(7);
+		LatencyHistogram second = new LatencyHistogram(7);
+		for (int i = 1; i <= 500; i++) {
+			first.record(i * 1000L);
+			second.record((500 + i) * 1000L);
+		}
+		HistogramSnapshot snapshot = first.snapshot().plus(second.snapshot());
+		assertEquals(1000, snapshot.getCount());
+		assertEquals(500_500, snapshot.getMean(), 0.001);
+		assertEquals(1_000_000, snapshot.getMax());
+		long p99 = snapshot.getValueAtPercentile(99);
+		assertTrue(p99 >= 990_000 && p99 <= 990_000 * 1.008, String.valueOf(p99));
+		assertThrows(IllegalArgumentException.class, () -> snapshot.plus(new LatencyHistogram().snapshot()));
+	}
+
+	@Test
+	public void percentilesNeverUnderstate() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+		HistogramSnapshot snapshot = histogram.snapshot();
+		assertEquals(1000, snapshot.getCount());
+		assertEquals(500_500, snapshot.getMean(), 0.001);
+		assertEquals(1_000_000, snapshot.getMax());
+		long p50 = snapshot.getValueAtPercentile(50);
+		assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, String.valueOf(p50));
+		long p99 = snapshot.getValueAtPercentile(99);
+		assertTrue(p99 >= 990_000 && p99 <= 1_000_000, String.valueOf(p99));
+		assertEquals(1_000_000, snapshot.getValueAtPercentile(100));
+	}
+
+	@Test
+	public void recordsConcurrentlyWithoutLosingCounts() {
+		GenerationMetrics metrics = new GenerationMetrics(true);
+		IntStream.range(0, 8).parallel().forEach(thread -> {
+			for (int i = 0; i < 10_000; i++) {
+				metrics.recordPhase(Phase.NUMBERS, i);
+				metrics.countGeneration();
+				metrics.countWordScanned();
+			}
+		});
+		metrics.countFailure();
+		MetricsSnapshot snapshot = metrics.snapshot();
+		assertEquals(80_000, snapshot.getGenerations());
+		assertEquals(80_000, snapshot.getWordsScanned());
+		assertEquals(1, snapshot.getFailures());
+		assertEquals(80_000, snapshot.getPhase(Phase.NUMBERS).getCount());
+		assertEquals(9_999, snapshot.getPhase(Phase.NUMBERS).getMax());
+		assertEquals(0, snapshot.getPhase(Phase.CHARS).getCount());
+		assertTrue(snapshot.getThroughput() > 0);
+		assertEquals(Phase.values().length, metrics.getPhaseSummaries().length);
+
+		metrics.reset();
+		assertEquals(0, metrics.getGenerations());
+		assertEquals(0, metrics.snapshot().getPhase(Phase.NUMBERS).getCount());
+	}
+
+	@Test
+	public void staticRecordingIsOffByDefault() {
+		assertFalse(GenerationMetrics.ENABLED);
+		assertEquals(0, GenerationMetrics.start());
+		assertEquals(0, GenerationMetrics.record(Phase.GENERATE, 0));
+		GenerationMetrics.recordGeneration(0);
+		assertEquals(0, GenerationMetrics.get().getGenerations());
+	}
+
+	private static void assertBucketsCoverEveryValue(int bits) {
+		Random random = new Random(7);
+		for (int i = 0; i < 100_000; i++) {
+			long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+			int bucket = LatencyHistogram.bucketOf(value, bits);
+			assertTrue(bucket >= 0 && bucket < LatencyHistogram.bucketsNo(bits));
+			assertTrue(LatencyHistogram.lowestValueOf(bucket, bits) <= value, value + " in " + bucket);
+			assertTrue(LatencyHistogram.highestValueOf(bucket, bits) >= value, value + " in " + bucket);
+			assertTrue(LatencyHistogram.highestValueOf(bucket, bits) - LatencyHistogram.lowestValueOf(bucket, bits)
+					<= (LatencyHistogram.lowestValueOf(bucket, bits) >> bits) + 1);
+		}
+		assertEquals(LatencyHistogram.bucketsNo(bits) - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE, bits));
+	}
+}
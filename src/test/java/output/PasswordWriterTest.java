@@ -0,0 +1,67 @@
+package output;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordWriterTest {
+
+	@Test
+	public void writesNewlineRecordsAcrossFlushes(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("passwords.txt");
+		List<String> expected = new ArrayList<>();
+		try (PasswordWriter writer = new PasswordWriter.Builder().withFile(file).withFlushThreshold(7).build()) {
+			for (int i = 0; i < 1000; i++) {
+				String password = "pw" + i + (i % 100 == 0 ? "€" : "") + "#Xy";
+				expected.add(password);
+				char[] padded = ("..." + password + "..").toCharArray();
+				assertTrue(writer.onPassword(padded, 3, password.length()));
+			}
+			assertEquals(1000, writer.getPasswordsNo());
+		}
+		assertEquals(expected, Files.readAllLines(file, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void writesFixedWidthRecords(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("passwords.dat");
+		try (PasswordWriter writer = new PasswordWriter.Builder().withFile(file).withFixedWidthRecords(8, '_')
+				.withFlushThreshold(5).build()) {
+			writer.write("2Kv@K!$#".toCharArray(), 0, 8);
+			writer.write("ab#".toCharArray(), 0, 3);
+			assertThrows(IllegalArgumentException.class, () -> writer.write("123456789".toCharArray(), 0, 9));
+		}
+		assertEquals("2Kv@K!$#ab#_____", new String(Files.readAllBytes(file), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void rejectsNonAsciiFixedWidthRecordWhole(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("passwords.dat");
+		try (PasswordWriter writer = new PasswordWriter.Builder().withFile(file).withFixedWidthRecords(8, '_')
+				.build()) {
+			writer.write("2Kv@K!$#".toCharArray(), 0, 8);
+			assertThrows(IllegalArgumentException.class, () -> writer.write("ab#€cd".toCharArray(), 0, 6));
+			writer.write("ab#".toCharArray(), 0, 3);
+			assertEquals(2, writer.getPasswordsNo());
+		}
+		assertEquals("2Kv@K!$#ab#_____", new String(Files.readAllBytes(file), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void appendsWhenAsked(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("passwords.txt");
+		for (int i = 0; i < 2; i++) {
+			try (PasswordWriter writer = new PasswordWriter.Builder().withFile(file).withAppend(i > 0).build()) {
+				writer.write(("run" + i).toCharArray(), 0, 4);
+			}
+		}
+		assertEquals("run0\nrun1\n", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,122 @@
+package pipeline;
+
+import corpus.StreamingTokenizer;
+import generation.SlidingWindowGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenerationPipelineTest {
+	private static final String BASE_PATH = "src/test/resources";
+	private static final char[] SPECIAL_CHARS = {'$', '#', '@', '!'};
+
+	@Test
+	public void matchesSlidingWindowGenerator() throws Exception {
+		for (String file : new String[]{"athex.txt", "covid-19.txt", "spotify.txt"}) {
+			List<String> expected = new ArrayList<>();
+			new StreamingTokenizer().tokenize(Paths.get(BASE_PATH, file), new SlidingWindowGenerator(8,
+					SPECIAL_CHARS, (chars, offset, length) -> expected.add(new String(chars, offset, length))));
+
+			List<String> actual = new ArrayList<>();
+			GenerationPipeline pipeline = new GenerationPipeline.Builder()
+					.withWindowSize(8)
+					.withSpecialChars(SPECIAL_CHARS)
+					.withSink((chars, offset, length) -> actual.add(new String(chars, offset, length)))
+					.withQueueCapacity(2)
+					.withChunkSize(64)
+					.withBatchSize(5)
+					.build();
+			pipeline.run(Paths.get(BASE_PATH, file));
+
+			assertEquals(expected, actual, file);
+			List<StageMetrics> metrics = pipeline.getMetrics();
+			assertEquals(5, metrics.size());
+			assertEquals(actual.size(), metrics.get(4).getProcessed());
+			assertEquals(0, metrics.get(4).getQueueDepth());
+		}
+	}
+
+	@Test
+	public void stopsWhenSinkReturnsFalse() throws Exception {
+		List<String> passwords = new ArrayList<>();
+		GenerationPipeline pipeline = new GenerationPipeline.Builder()
+				.withWindowSize(8)
+				.withSpecialChars(SPECIAL_CHARS)
+				.withSink((chars, offset, length) -> {
+					passwords.add(new String(chars, offset, length));
+					return passwords.size() < 3;
+				})
+				.withBatchSize(2)
+				.build();
+		pipeline.run(new StringReader(words(100_000)));
+		assertEquals(3, passwords.size());
+	}
+
+	@Test
+	public void stopsFileRunWhenSinkReturnsFalse(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("words.txt");
+		Files.write(file, words(1_000_000).getBytes(StandardCharsets.UTF_8));
+		// Large chunks keep the read stage inside reader.read when the sink stops the run, and reading through a
+		// FileChannel makes the interrupt close the file under it, as Files.newInputStream does on Java 8.
+		for (int run = 0; run < 10; run++) {
+			List<String> passwords = new ArrayList<>();
+			GenerationPipeline pipeline = new GenerationPipeline.Builder()
+					.withWindowSize(8)
+					.withSpecialChars(SPECIAL_CHARS)
+					.withSink((chars, offset, length) -> {
+						passwords.add(new String(chars, offset, length));
+						return passwords.size() < 3;
+					})
+					.withQueueCapacity(1)
+					.withChunkSize(1 << 20)
+					.withBatchSize(2)
+					.build();
+			try (Reader reader = Channels.newReader(FileChannel.open(file), "UTF-8")) {
+				pipeline.run(reader);
+			}
+			assertEquals(3, passwords.size());
+		}
+	}
+
+	@Test
+	public void rethrowsStageFailure() {
+		Reader failing = new Reader() {
+			@Override
+			public int read(char[] buffer, int offset, int length) throws IOException {
+				throw new IOException("disk gone");
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		GenerationPipeline pipeline = new GenerationPipeline.Builder()
+				.withWindowSize(8)
+				.withSpecialChars(SPECIAL_CHARS)
+				.withSink((chars, offset, length) -> true)
+				.build();
+		Exception e = assertThrows(Exception.class, () -> pipeline.run(failing));
+		assertEquals("disk gone", e.getMessage());
+	}
+
+	private String words(int count) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			text.append("word").append(i).append(' ');
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,145 @@
+package reactive;
+
+import corpus.WordSource;
+import generation.GenerationSpec;
+import generation.Generator;
+import generation.IGenerator;
+import generation.PrimitiveGenerator;
+import generation.SlidingWindowGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordPublisherTest {
+	private static final String BASE_PATH = "src/test/resources";
+	private static final char[] SPECIAL_CHARS = {'$', '#', '@', '!'};
+
+	@Test
+	public void publishesEveryWindowOneRequestAtATime() throws Exception {
+		WordSource source = WordSource.of(Paths.get(BASE_PATH, "spotify.txt"));
+		List<String> expected = new ArrayList<>();
+		source.forEachWord(new SlidingWindowGenerator(8, SPECIAL_CHARS,
+				(chars, offset, length) -> expected.add(new String(chars, offset, length))));
+
+		CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+		PasswordPublisher.windows(source, 8, SPECIAL_CHARS).subscribe(subscriber);
+		subscriber.await();
+		assertNull(subscriber.error);
+		assertTrue(subscriber.completed);
+		assertEquals(expected, subscriber.items);
+	}
+
+	@Test
+	public void cancellingStopsTokenization() throws Exception {
+		AtomicInteger wordsFed = new AtomicInteger();
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 100_000; i++) {
+			text.append("word").append(i).append(' ');
+		}
+		WordSource source = handler -> WordSource.ofText(text.toString()).forEachWord(
+				(chars, offset, length, charSum) -> {
+					wordsFed.incrementAndGet();
+					return handler.onWord(chars, offset, length, charSum);
+				});
+		CollectingSubscriber subscriber = new CollectingSubscriber(3);
+		PasswordPublisher.windows(source, 8, SPECIAL_CHARS, Runnable::run).subscribe(subscriber);
+		assertEquals(3, subscriber.items.size());
+		assertFalse(subscriber.completed);
+		assertEquals(10, wordsFed.get());
+	}
+
+	@Test
+	public void generatesSpecsOnlyOnDemand() throws Exception {
+		List<String> words = Arrays.asList("alpha", "bravo", "charlie", "delta", "echoes", "foxtrot", "golfer",
+				"hotel");
+		List<GenerationSpec> specs = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			specs.add(new GenerationSpec(8, SPECIAL_CHARS, words));
+		}
+		AtomicInteger generated = new AtomicInteger();
+		IGenerator generator = (length, specialChars, uniqueWords) -> {
+			generated.incrementAndGet();
+			return new PrimitiveGenerator().generate(length, specialChars, uniqueWords);
+		};
+		CollectingSubscriber subscriber = new CollectingSubscriber(0);
+		PasswordPublisher.of(generator, specs).subscribe(subscriber);
+		Thread.sleep(50);
+		assertEquals(0, generated.get());
+		subscriber.subscription.request(4);
+		while (subscriber.items.size() < 4) {
+			Thread.sleep(5);
+		}
+		Thread.sleep(50);
+		assertEquals(4, generated.get());
+		subscriber.subscription.request(Long.MAX_VALUE);
+		subscriber.await();
+		assertEquals(10, generated.get());
+		assertEquals(new String(new Generator().generate(8, SPECIAL_CHARS, words)), subscriber.items.get(9));
+	}
+
+	@Test
+	public void rejectsNonPositiveRequests() throws Exception {
+		CollectingSubscriber subscriber = new CollectingSubscriber(0);
+		WordSource source = WordSource.ofText("alpha bravo charlie delta echoes foxtrot golfer hotel india");
+		PasswordPublisher.windows(source, 8, SPECIAL_CHARS).subscribe(subscriber);
+		subscriber.subscription.request(0);
+		subscriber.await();
+		assertTrue(subscriber.error instanceof IllegalArgumentException);
+	}
+
+	// Requests the initial demand on subscription and cancels once it has been delivered.
+	private static class CollectingSubscriber implements Flow.Subscriber<char[]> {
+		private final long initialDemand;
+		private final CountDownLatch done = new CountDownLatch(1);
+		final List<String> items = new ArrayList<>();
+		volatile Flow.Subscription subscription;
+		volatile Throwable error;
+		volatile boolean completed;
+
+		CollectingSubscriber(long initialDemand) {
+			this.initialDemand = initialDemand;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if (initialDemand > 0) {
+				subscription.request(initialDemand);
+			}
+		}
+
+		@Override
+		public void onNext(char[] item) {
+			synchronized (items) {
+				items.add(new String(item));
+			}
+			if (items.size() == initialDemand) {
+				subscription.cancel();
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+			done.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+			done.countDown();
+		}
+
+		void await() throws InterruptedException {
+			assertTrue(done.await(10, TimeUnit.SECONDS));
+		}
+	}
+}
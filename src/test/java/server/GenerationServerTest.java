@@ -0,0 +1,179 @@
+package server;
+
+import generation.PrimitiveGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenerationServerTest {
+	private static final String BASE_PATH = "src/test/resources";
+	private static final String CORPUS = "alpha bravo charlie delta echoes foxtrot golfer hotel india juliet";
+
+	private GenerationServer server;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		server = new GenerationServer.Builder().withThreads(2).withMaxRequestBytes(4096).withMaxBulkPasswords(2)
+				.build().start();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	public void generatesFromBody() throws IOException {
+		byte[] corpus = Files.readAllBytes(Paths.get(BASE_PATH, "spotify.txt"));
+		GenerationServer large = new GenerationServer.Builder().build().start();
+		try {
+			HttpURLConnection connection = post(large, "/generate?length=12&specialChars="
+					+ URLEncoder.encode("$,#,@,!", "UTF-8"), corpus);
+			assertEquals(200, connection.getResponseCode());
+			assertEquals("58#286$!l@lU", read(connection.getInputStream()));
+		} finally {
+			large.stop(0);
+		}
+	}
+
+	@Test
+	public void streamsOnePasswordPerWindow() throws Exception {
+		HttpURLConnection connection = post(server, "/bulk?length=8&specialChars=$,%23,@&count=5", bytes(CORPUS));
+		assertEquals(200, connection.getResponseCode());
+		List<String> passwords = Arrays.asList(read(connection.getInputStream()).split("\n"));
+		// count asks for 5, the server caps bulk responses at 2.
+		assertEquals(2, passwords.size());
+		List<String> words = Arrays.asList(CORPUS.split(" "));
+		for (int i = 0; i < passwords.size(); i++) {
+			assertEquals(new String(new PrimitiveGenerator().generate(8, new char[]{'$', '#', '@'},
+					words.subList(i, i + 8))), passwords.get(i));
+		}
+	}
+
+	@Test
+	public void rejectsInvalidRequests() throws IOException {
+		assertEquals(400, post(server, "/generate?length=eight&specialChars=$,%23,@", bytes(CORPUS))
+				.getResponseCode());
+		assertEquals(400, post(server, "/generate?length=8", bytes(CORPUS)).getResponseCode());
+		assertEquals(422, post(server, "/generate?length=30&specialChars=$,%23,@", bytes(CORPUS))
+				.getResponseCode());
+		assertEquals(422, post(server, "/generate?length=8&specialChars=$,%23,@", bytes("alpha bravo"))
+				.getResponseCode());
+
+		HttpURLConnection get = (HttpURLConnection) url(server, "/generate").openConnection();
+		assertEquals(405, get.getResponseCode());
+		assertEquals("POST", get.getHeaderField("Allow"));
+	}
+
+	@Test
+	public void rejectsTooLargeBodies() throws IOException {
+		byte[] large = new byte[8192];
+		Arrays.fill(large, (byte) 'a');
+		assertEquals(413, post(server, "/generate?length=8&specialChars=$,%23,@", large).getResponseCode());
+
+		// Without a Content-Length the limit applies while reading.
+		HttpURLConnection chunked = (HttpURLConnection) url(server, "/generate?length=8&specialChars=$,%23,@")
+				.openConnection();
+		chunked.setDoOutput(true);
+		chunked.setChunkedStreamingMode(1024);
+		try (OutputStream out = chunked.getOutputStream()) {
+			out.write(large);
+		}
+		assertEquals(413, chunked.getResponseCode());
+	}
+
+	@Test
+	public void keepsConnectionAlive() throws IOException {
+		try (Socket socket = new Socket(server.getAddress().getAddress(), server.getPort())) {
+			socket.setSoTimeout(5000);
+			OutputStream out = socket.getOutputStream();
+			InputStream in = socket.getInputStream();
+			byte[] body = bytes(CORPUS);
+			String request = "POST /generate?length=8&specialChars=$,%23,@ HTTP/1.1\r\nHost: localhost\r\n"
+					+ "Content-Length: " + body.length + "\r\n\r\n";
+			String first = null;
+			for (int i = 0; i < 3; i++) {
+				out.write(bytes(request));
+				out.write(body);
+				out.flush();
+				String password = readResponse(in);
+				assertEquals(8, password.length());
+				if (first == null) {
+					first = password;
+				}
+				assertEquals(first, password);
+			}
+		}
+	}
+
+	private static HttpURLConnection post(GenerationServer server, String path, byte[] body) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) url(server, path).openConnection();
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		connection.setFixedLengthStreamingMode(body.length);
+		try (OutputStream out = connection.getOutputStream()) {
+			out.write(body);
+		} catch (IOException e) {
+			// The server may answer and close before the whole body is sent; the response still tells why.
+		}
+		return connection;
+	}
+
+	private static URL url(GenerationServer server, String path) throws IOException {
+		return new URL("http://localhost:" + server.getPort() + path);
+	}
+
+	private static String read(InputStream in) throws IOException {
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			return reader.lines().collect(Collectors.joining("\n"));
+		}
+	}
+
+	// Reads one response with a Content-Length off a raw connection and returns its body.
+	private static String readResponse(InputStream in) throws IOException {
+		ByteArrayOutputStream headers = new ByteArrayOutputStream();
+		while (!headers.toString("US-ASCII").endsWith("\r\n\r\n")) {
+			int b = in.read();
+			assertNotEquals(-1, b, "Connection closed");
+			headers.write(b);
+		}
+		String head = headers.toString("US-ASCII");
+		assertTrue(head.startsWith("HTTP/1.1 200"), head);
+		int contentLength = 0;
+		for (String line : head.split("\r\n")) {
+			if (line.toLowerCase().startsWith("content-length:")) {
+				contentLength = Integer.parseInt(line.substring(line.indexOf(':') + 1).trim());
+			}
+		}
+		byte[] body = new byte[contentLength];
+		for (int read = 0; read < contentLength; ) {
+			int n = in.read(body, read, contentLength - read);
+			assertNotEquals(-1, n, "Connection closed");
+			read += n;
+		}
+		return new String(body, StandardCharsets.UTF_8);
+	}
+
+	private static byte[] bytes(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+}
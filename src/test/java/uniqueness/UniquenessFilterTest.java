@@ -0,0 +1,59 @@
+package uniqueness;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UniquenessFilterTest {
+
+	@Test
+	public void exactSetDropsEveryDuplicateAndGrows() {
+		List<String> passed = new ArrayList<>();
+		UniquenessFilter filter = UniquenessFilter.exact(16, (chars, offset, length) ->
+				passed.add(new String(chars, offset, length)));
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 50_000; i++) {
+				char[] password = ("#" + i + "Kv@").toCharArray();
+				assertTrue(filter.onPassword(password, 1, password.length - 1));
+			}
+		}
+		assertEquals(50_000, passed.size());
+		assertEquals(50_000, filter.getUniqueNo());
+		assertEquals(100_000, filter.getDuplicatesNo());
+		assertEquals("0Kv@", passed.get(0));
+		FingerprintSet set = (FingerprintSet) filter.getSeen();
+		assertTrue(set.getCapacity() * 0.75 >= 50_000);
+		assertTrue(set.getMemoryBytes() / 50_000.0 <= 43, set.getMemoryBytes() + " bytes");
+	}
+
+	@Test
+	public void bloomFilterCatchesRepeatsWithinItsFalsePositiveRate() {
+		int passwordsNo = 200_000;
+		BloomFilterSet set = new BloomFilterSet(passwordsNo, 0.01);
+		int falsePositives = 0;
+		for (int i = 0; i < passwordsNo; i++) {
+			char[] password = ("pw" + i + "$#").toCharArray();
+			if (!set.add(password, 0, password.length)) {
+				falsePositives++;
+			}
+		}
+		for (int i = 0; i < passwordsNo; i++) {
+			char[] password = ("pw" + i + "$#").toCharArray();
+			assertFalse(set.add(password, 0, password.length));
+		}
+		// False positives grow as the filter fills, so over the whole run they stay well under the final rate.
+		assertTrue(falsePositives < passwordsNo * 0.01, falsePositives + " false positives");
+		assertEquals(7, set.getHashesNo());
+		assertTrue(set.getMemoryBytes() / (double) passwordsNo < 1.3);
+	}
+
+	@Test
+	public void rejectsInvalidSizing() {
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilterSet(1000, 1.5));
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilterSet(0, 0.01));
+		assertThrows(IllegalArgumentException.class, () -> new FingerprintSet(-1));
+	}
+}